@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,6 +24,9 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.reactor.core)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -31,11 +35,11 @@ dependencies {
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    sourceCompatibility = JavaVersion.VERSION_21
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
-    toolVersion = "0.8.7"
+    toolVersion = "0.8.11"
 }
 
 // bundling tasks
@@ -49,4 +53,29 @@ tasks.getByName("jar") {
 tasks.test {
     ignoreFailures = true
     useJUnitPlatform()
+    // 잔액 저장소 메모리 비교 유저 수 (예: ./gradlew test -Pfootprint.users=10000000)
+    providers.gradleProperty("footprint.users").orNull?.let {
+        systemProperty("footprint.users", it)
+        maxHeapSize = "4g"
+    }
+    // 이력 저장 구조 메모리 비교 행 수 (예: ./gradlew test -Pfootprint.rows=100000000)
+    providers.gradleProperty("footprint.rows").orNull?.let {
+        systemProperty("footprint.rows", it)
+        maxHeapSize = "8g"
+    }
+    // 부하 테스트 하네스 설정 (예: ./gradlew test --tests '*ConcurrencyIT*' -Pload.threads=32 -Pload.duration=60s)
+    project.properties.filterKeys { it.startsWith("load.") }.forEach { (key, value) ->
+        systemProperty(key, value.toString())
+    }
+}
+
+// benchmark tasks (src/jmh/java, ./gradlew jmh)
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    // 예) ./gradlew jmh -Pjmh.includes=PointServiceBenchmark
+    (findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+    // 예) ./gradlew jmh -Pjmh.profilers=gc  (요청당 할당량 비교)
+    (findProperty("jmh.profilers") as String?)?.let { profilers.set(it.split(",")) }
 }
@@ -0,0 +1,83 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.BalanceStore;
+import io.hhplus.tdd.database.PackedBalanceStore;
+import io.hhplus.tdd.database.PointEventLog;
+import io.hhplus.tdd.database.PointHistoryJournal;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserLockRegistry;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointCache;
+import io.hhplus.tdd.timeProvider.SystemTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// 벤치마크용 PointService 조립
+/// throttled = false 이면 테이블의 임의 지연(sleep)을 없앤 테이블을 사용해 서비스 자체의 오버헤드만 측정합니다.
+/// point.store.type = packed 이면 UserPointTable 대신 PackedBalanceStore 를 사용합니다. (sleep 없음)
+final class PointFixture {
+    final PointService pointService;
+    final PointHistoryJournal pointHistoryJournal;
+
+    PointFixture(boolean throttled, PointProperties pointProperties) {
+        BalanceStore balanceStore = "packed".equals(pointProperties.store().type())
+                ? new PackedBalanceStore(pointProperties)
+                : new UserPointTableStore(throttled ? new UserPointTable() : new UnthrottledUserPointTable());
+        PointHistoryTable pointHistoryTable = throttled ? new PointHistoryTable() : new UnthrottledPointHistoryTable();
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+        this.pointHistoryJournal = new PointHistoryJournal(pointHistoryTable, pointProperties, pointMetrics);
+        this.pointService = new PointService(balanceStore, new PointHistoryRepository(pointHistoryJournal),
+                new SystemTimeProvider(), pointProperties, new UserPointCache(pointProperties), new UserLockRegistry(), pointMetrics,
+                new PointEventLog(pointProperties));
+    }
+
+    void close() {
+        pointHistoryJournal.close();
+    }
+
+    /// sleep 없이 동작하는 UserPointTable
+    static final class UnthrottledUserPointTable extends UserPointTable {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    /// sleep 없이 동작하는 PointHistoryTable (저널의 단일 작성자 스레드만 insert 합니다.)
+    static final class UnthrottledPointHistoryTable extends PointHistoryTable {
+        private final List<PointHistory> table = new ArrayList<>();
+        private long cursor = 1;
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        }
+    }
+}
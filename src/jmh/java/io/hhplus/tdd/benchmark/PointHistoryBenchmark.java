@@ -0,0 +1,55 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이력 크기에 따른 getUserPointHistories / 페이지 조회 비용
+ * 조회는 테이블을 거치지 않으므로 이력 적재 속도를 위해 throttle 없는 테이블을 사용합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PointHistoryBenchmark {
+    private static final long USER = 1L;
+    private static final long OTHER_USER = 2L;
+
+    @Param({"10", "1000", "100000"})
+    public int historySize;
+
+    PointFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointFixture(false, PointProperties.defaults());
+        for (int i = 0; i < historySize; i++) {
+            fixture.pointService.charge(USER, 1L);
+            // 다른 유저의 이력이 섞여 있어도 조회 비용에 영향이 없어야 합니다.
+            fixture.pointService.charge(OTHER_USER, 1L);
+        }
+        fixture.pointHistoryJournal.flush();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<PointHistory> allHistories() {
+        return fixture.pointService.getUserPointHistories(USER);
+    }
+
+    @Benchmark
+    public PointHistoryPage firstPage() {
+        return fixture.pointService.getUserPointHistoryPage(USER, null, 20, null, null);
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.InsufficientBalanceException;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PointService 충전/사용 처리량
+ * - singleUser* : 모든 스레드가 한 유저에게 몰리는 경우 (유저 락 경합)
+ * - manyUser* : 스레드마다 다른 유저를 사용하는 경우 (경합 없음)
+ * - singleUserOverdraft : 잔고보다 큰 사용 요청을 반복하는 경우 (유저 락과 테이블 조회 없이 거절)
+ * - randomTransfer : 여러 유저 사이에서 무작위 방향으로 이체하는 경우 (두 유저 락을 정렬된 순서로 획득)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class PointServiceBenchmark {
+    private static final long HOT_USER = 0L;
+    private static final long INITIAL_BALANCE = Long.MAX_VALUE / 4;
+    private static final long TRANSFER_USER_BASE = 1_000_000L;
+    private static final int TRANSFER_USERS = 64;
+
+    @Param({"false", "true"})
+    public boolean throttled;
+
+    @Param({"false", "true"})
+    public boolean combining;
+
+    /// 충전을 유저 락 없이 잔액 셀(CAS)로 처리 (singleUserCharge 에서 스레드 수에 따른 확장성 비교)
+    @Param({"false", "true"})
+    public boolean lockFreeCharge;
+
+    /// 잔액 저장소 종류 (packed 는 throttle 없이 동작합니다.)
+    @Param({"table", "packed"})
+    public String store;
+
+    PointFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointProperties properties = PointProperties.defaults()
+                .toBuilder().combining(new PointProperties.Combining(combining))
+                .store(new PointProperties.Store(store, 1 << 16))
+                .charge(new PointProperties.Charge(lockFreeCharge)).build();
+        fixture = new PointFixture(throttled, properties);
+        fixture.pointService.charge(HOT_USER, INITIAL_BALANCE);
+        for (int i = 0; i < TRANSFER_USERS; i++)
+            fixture.pointService.charge(TRANSFER_USER_BASE + i, INITIAL_BALANCE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadUser {
+        private static final AtomicLong SEQUENCE = new AtomicLong(1);
+        long userId;
+
+        @Setup(Level.Trial)
+        public void setUp(PointServiceBenchmark benchmark) {
+            userId = SEQUENCE.getAndIncrement();
+            benchmark.fixture.pointService.charge(userId, INITIAL_BALANCE);
+        }
+    }
+
+    @Benchmark
+    public UserPoint singleUserCharge() {
+        return fixture.pointService.charge(HOT_USER, 1L);
+    }
+
+    @Benchmark
+    public UserPoint singleUserUse() {
+        return fixture.pointService.use(HOT_USER, 1L);
+    }
+
+    @Benchmark
+    public Object singleUserOverdraft() {
+        try {
+            return fixture.pointService.use(HOT_USER, Long.MAX_VALUE);
+        } catch (InsufficientBalanceException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public UserPoint manyUserCharge(ThreadUser user) {
+        return fixture.pointService.charge(user.userId, 1L);
+    }
+
+    @Benchmark
+    public UserPoint manyUserUse(ThreadUser user) {
+        return fixture.pointService.use(user.userId, 1L);
+    }
+
+    @Benchmark
+    public PointTransfer randomTransfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(TRANSFER_USERS);
+        int to = random.nextInt(TRANSFER_USERS - 1);
+        if (to >= from)
+            to++;
+        return fixture.pointService.transfer(TRANSFER_USER_BASE + from, TRANSFER_USER_BASE + to, 1L);
+    }
+}
@@ -0,0 +1,103 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.ReactivePointService;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Flux;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서블릿(요청당 스레드) 방식과 논블로킹(ReactivePointService) 방식의 동시 처리 비교
+ * 호출(op) 한 번마다 inFlight 건의 충전을 동시에 보내고 모두 끝날 때까지 기다립니다.
+ * - servlet : 요청마다 스레드 하나가 PointService 를 블로킹 호출 (Tomcat 스레드 풀과 같은 구조)
+ * - reactive : 모든 요청을 Mono 로 구독하고, 블로킹 호출은 point.reactive.thread-cap 크기의 scheduler 에서만 실행
+ * hotUser = true 면 모든 요청이 한 유저에게 몰립니다. (servlet 은 유저 락 앞에서 스레드가 대기, reactive 는 유저 줄에서 대기)
+ * 요청당 메모리는 -Pjmh.profilers=gc 의 gc.alloc.rate.norm 을 inFlight 로 나누어 비교하고,
+ * 요청을 처리하는 데 쓰인 스레드 수는 반복(iteration)마다 출력되는 peakThreads 로 비교합니다.
+ * 예) ./gradlew jmh -Pjmh.includes=ReactivePointBenchmark -Pjmh.profilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(1)
+public class ReactivePointBenchmark {
+    private static final long HOT_USER = 0L;
+
+    @Param({"64", "512"})
+    public int inFlight;
+
+    @Param({"false", "true"})
+    public boolean hotUser;
+
+    /// reactive scheduler 스레드 수 (servlet 은 항상 inFlight 개의 스레드를 사용)
+    @Param({"16"})
+    public int threadCap;
+
+    PointFixture fixture;
+    ReactivePointService reactivePointService;
+    ExecutorService requestThreads;
+    ThreadMXBean threadMXBean;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointProperties properties = PointProperties.defaults()
+                .toBuilder().reactive(new PointProperties.Reactive(threadCap, 100_000)).build();
+        fixture = new PointFixture(false, properties);
+        reactivePointService = new ReactivePointService(fixture.pointService, properties);
+        requestThreads = Executors.newFixedThreadPool(inFlight);
+        threadMXBean = ManagementFactory.getThreadMXBean();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestThreads.shutdown();
+        reactivePointService.close();
+        fixture.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakThreads() {
+        threadMXBean.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportPeakThreads() {
+        System.out.println("peakThreads=" + threadMXBean.getPeakThreadCount() + " (inFlight=" + inFlight + ")");
+    }
+
+    @Benchmark
+    public void servlet() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(inFlight);
+        for (int i = 0; i < inFlight; i++) {
+            long userId = userId(i);
+            requestThreads.execute(() -> {
+                try {
+                    fixture.pointService.charge(userId, 1L);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    @Benchmark
+    public Object reactive() {
+        return Flux.range(0, inFlight)
+                .flatMap(i -> reactivePointService.charge(userId(i), 1L), inFlight)
+                .blockLast();
+    }
+
+    private long userId(int index) {
+        return hotUser ? HOT_USER : index + 1;
+    }
+}
@@ -0,0 +1,76 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.UserLockRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 락 획득/반납 비용
+ * registry* : 참조 카운트 방식 UserLockRegistry
+ * legacy* : 기존 방식 (ConcurrentHashMap.computeIfAbsent 로 만든 락을 계속 보관)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(4)
+public class UserLockRegistryBenchmark {
+    private static final long HOT_USER = 0L;
+
+    UserLockRegistry userLockRegistry;
+    ConcurrentHashMap<Long, ReentrantLock> legacyLocks;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        userLockRegistry = new UserLockRegistry();
+        legacyLocks = new ConcurrentHashMap<>();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadUsers {
+        private static final AtomicLong SEQUENCE = new AtomicLong(1);
+        long next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // 스레드마다 겹치지 않는 유저 ID 구간을 사용
+            next = SEQUENCE.getAndIncrement() << 32;
+        }
+    }
+
+    @Benchmark
+    public void registrySameUser() {
+        UserLockRegistry.UserLock userLock = userLockRegistry.acquire(HOT_USER);
+        userLock.lock();
+        userLock.unlock();
+        userLockRegistry.release(userLock);
+    }
+
+    @Benchmark
+    public void registryDistinctUsers(ThreadUsers users) {
+        UserLockRegistry.UserLock userLock = userLockRegistry.acquire(users.next++);
+        userLock.lock();
+        userLock.unlock();
+        userLockRegistry.release(userLock);
+    }
+
+    @Benchmark
+    public void legacySameUser() {
+        ReentrantLock lock = legacyLocks.computeIfAbsent(HOT_USER, k -> new ReentrantLock());
+        lock.lock();
+        lock.unlock();
+    }
+
+    @Benchmark
+    public void legacyDistinctUsers(ThreadUsers users) {
+        ReentrantLock lock = legacyLocks.computeIfAbsent(users.next++, k -> new ReentrantLock());
+        lock.lock();
+        lock.unlock();
+    }
+}
@@ -1,5 +1,14 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.cluster.ClusterUnavailableException;
+import io.hhplus.tdd.cluster.InvalidClusterMembershipException;
+import io.hhplus.tdd.point.CrossNodeTransferException;
+import io.hhplus.tdd.point.IdempotencyKeyReusedException;
+import io.hhplus.tdd.point.InsufficientBalanceException;
+import io.hhplus.tdd.point.InvalidPointRequestException;
+import io.hhplus.tdd.point.PointOverloadedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -7,6 +16,53 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+
+    /// 요청 자체가 잘못됨 (음수 금액, 잘못된 커서 등) => 400
+    @ExceptionHandler(value = InvalidPointRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(InvalidPointRequestException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("400", e.getMessage()));
+    }
+
+    /// 이미 사용한 Idempotency-Key 로 다른 요청 => 요청 형식은 맞지만 처리할 수 없으므로 422
+    @ExceptionHandler(value = IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(new ErrorResponse("422", e.getMessage()));
+    }
+
+    /// 잔고 부족 => 현재 잔액과 충돌하므로 409
+    @ExceptionHandler(value = InsufficientBalanceException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientBalance(InsufficientBalanceException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("409", e.getMessage()));
+    }
+
+    /// 유저 락 대기 제한 초과 => 처리하지 않았으므로 잠시 후 다시 시도하도록 429 + Retry-After
+    @ExceptionHandler(value = PointOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverloaded(PointOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("429", e.getMessage()));
+    }
+
+    /// 인스턴스를 가로지르는 이체 => 요청은 올바르지만 지원하지 않는 기능이므로 501
+    @ExceptionHandler(value = CrossNodeTransferException.class)
+    public ResponseEntity<ErrorResponse> handleCrossNodeTransfer(CrossNodeTransferException e) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(new ErrorResponse("501", e.getMessage()));
+    }
+
+    /// 구성원 목록 변경 요청이 잘못됨 (빈 목록, 현재보다 크지 않은 버전) => 400
+    @ExceptionHandler(value = InvalidClusterMembershipException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidClusterMembership(InvalidClusterMembershipException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("400", e.getMessage()));
+    }
+
+    /// 구성원 목록이 바뀌는 중이라 처리하지 않음 => 잠시 후 다시 시도하도록 503 + Retry-After
+    @ExceptionHandler(value = ClusterUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleClusterUnavailable(ClusterUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("503", e.getMessage()));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
@@ -0,0 +1,51 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.point.PointHandoff;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/cluster")
+@RequiredArgsConstructor
+public class ClusterController {
+
+    private final ClusterMembership clusterMembership;
+    private final ClusterHandoff clusterHandoff;
+
+    /**
+     * 이 인스턴스가 알고 있는 구성원 목록을 조회합니다.
+     */
+    @GetMapping("members")
+    public ClusterMembers members() {
+        return new ClusterMembers(clusterMembership.isEnabled(), clusterMembership.self(), clusterMembership.version(), clusterMembership.members());
+    }
+
+    /**
+     * 구성원 목록을 version 으로 바꿉니다. 이후 요청부터 바뀐 목록 기준으로 유저 소유 인스턴스가 정해집니다.
+     * 목록은 인스턴스마다 따로 관리되므로 목록에서 빠지는 인스턴스를 포함해 모든 인스턴스에 같은 버전으로 같은 목록을 보내야 하며,
+     * 버전이 서로 다른 동안 인스턴스 사이의 요청은 503 으로 거절됩니다.
+     * 빈 목록이나 현재보다 크지 않은 버전은 400 으로 거절합니다.
+     */
+    @PutMapping("members")
+    public ClusterMembers updateMembers(
+            @RequestParam long version,
+            @RequestBody List<String> members
+    ) {
+        clusterMembership.update(version, members);
+        return members();
+    }
+
+    /**
+     * 유저의 잔액/이력을 이 인스턴스에서 빼서 넘겨줍니다. (새 소유자가 된 인스턴스만 호출)
+     * 요청한 인스턴스와 구성원 버전이 같아야 하며, 이 인스턴스가 유저의 상태를 갖고 있지 않으면 held=false 로 응답합니다.
+     */
+    @PostMapping("users/{userId}/handoff")
+    public PointHandoff handOff(
+            @PathVariable long userId,
+            @RequestHeader(PeerClient.MEMBERSHIP_VERSION) long version
+    ) {
+        return clusterHandoff.handOff(version, userId);
+    }
+}
@@ -0,0 +1,131 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.point.PointHandoff;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 구성원 목록이 바뀌어 소유자가 바뀐 유저의 잔액/이력을 이전 소유자에게서 넘겨받습니다. (point.cluster.enabled)
+ * 새 소유자는 유저의 요청을 처음 처리하기 전에(ensureArrived) 이전 목록들의 소유자에게 최근 버전부터 차례로 상태를 요청하고,
+ * 상태를 갖고 있는 인스턴스가 넘겨주면 자기 저장소에 넣은 뒤에야 요청을 처리합니다. 넘겨받지 못하면 처리하지 않고 503 으로 응답합니다.
+ *
+ * 넘겨주는 쪽(handOff)은 요청과 같은 구성원 버전일 때만 응답하고, 이전 버전으로 받아 처리 중인 요청이 모두 끝난 뒤에 상태를 빼서 넘깁니다.
+ * 같은 버전에서는 그 유저의 새 요청이 모두 새 소유자에게 전달되므로, 넘긴 뒤 이 인스턴스에서 유저의 상태가 바뀌지 않습니다.
+ *
+ * 유저의 상태를 갖고 있는 인스턴스는 처음 목록의 소유자(넘겨주기 전까지)이거나, 마지막으로 넘겨받은 인스턴스입니다.
+ * 넘겨받은/넘겨준 유저 목록은 메모리에만 있으므로, 목록을 바꾼 뒤 인스턴스를 다시 시작하는 경우는 지원하지 않습니다.
+ */
+@Component
+public class ClusterHandoff {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterHandoff.class);
+
+    private final ClusterMembership clusterMembership;
+    private final PeerClient peerClient;
+    private final PointService pointService;
+    private final Duration handoffTimeout;
+    // 처음 목록에서 맡지 않았지만 넘겨받아 상태를 갖고 있는 유저
+    private final Set<Long> received = ConcurrentHashMap.newKeySet();
+    // 처음 목록에서 맡았지만 다른 인스턴스로 넘겨준 유저
+    private final Set<Long> handedOff = ConcurrentHashMap.newKeySet();
+    // 넘겨받는 중인 유저 => 같은 유저의 다른 요청은 이 작업이 끝나기를 기다립니다.
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> arrivals = new ConcurrentHashMap<>();
+
+    public ClusterHandoff(ClusterMembership clusterMembership, PeerClient peerClient,
+                          PointService pointService, PointProperties pointProperties) {
+        this.clusterMembership = clusterMembership;
+        this.peerClient = peerClient;
+        this.pointService = pointService;
+        this.handoffTimeout = pointProperties.cluster().handoffTimeout();
+    }
+
+    /// version 의 목록으로 이 인스턴스가 맡은 유저의 상태가 아직 없으면 이전 소유자에게서 넘겨받습니다. (클러스터 모드가 아니면 아무것도 하지 않음)
+    /// 넘겨받지 못하면 ClusterUnavailableException 을 던지며, 이때 유저의 요청을 처리하면 안 됩니다.
+    public void ensureArrived(long version, long userId) {
+        if (!clusterMembership.isEnabled())
+            return;
+        while (!holds(userId)) {
+            CompletableFuture<Void> arrival = new CompletableFuture<>();
+            CompletableFuture<Void> running = arrivals.putIfAbsent(userId, arrival);
+            if (running != null) {
+                await(running);
+                continue;
+            }
+            try {
+                // 앞선 작업이 끝난 직후라면 이미 넘겨받았을 수 있습니다.
+                if (!holds(userId))
+                    pull(version, userId);
+                arrival.complete(null);
+            } catch (RuntimeException e) {
+                arrival.completeExceptionally(e);
+                throw e;
+            } finally {
+                arrivals.remove(userId, arrival);
+            }
+        }
+    }
+
+    /// 유저의 상태를 빼서 넘겨줍니다. 이 인스턴스가 상태를 갖고 있지 않으면 held 가 false 인 결과를 반환합니다.
+    /// version : 요청한 인스턴스의 구성원 버전 (이 인스턴스와 같아야 함)
+    public PointHandoff handOff(long version, long userId) {
+        if (version != clusterMembership.version())
+            throw new ClusterUnavailableException("구성원 목록 버전이 다릅니다. 잠시 후 다시 시도해 주세요.");
+        if (clusterMembership.isLocal(userId))
+            throw new ClusterUnavailableException("이 인스턴스가 맡은 유저입니다.");
+        if (!clusterMembership.awaitDrained(version, handoffTimeout))
+            throw new ClusterUnavailableException("이전 구성원 목록으로 처리 중인 요청이 끝나지 않았습니다. 잠시 후 다시 시도해 주세요.");
+        synchronized (this) {
+            if (!holds(userId))
+                return PointHandoff.notHeld();
+            PointHandoff handoff = pointService.handOff(userId);
+            received.remove(userId);
+            handedOff.add(userId);
+            log.info("유저 넘겨줌: userId={}, 구성원 버전={}, 잔액={}, 이력 {}건", userId, version, handoff.point(), handoff.histories().size());
+            return handoff;
+        }
+    }
+
+    private boolean holds(long userId) {
+        return received.contains(userId) || (clusterMembership.isInitialOwner(userId) && !handedOff.contains(userId));
+    }
+
+    private void pull(long version, long userId) {
+        for (String holder : clusterMembership.previousOwners(version, userId)) {
+            PointHandoff handoff;
+            try {
+                handoff = peerClient.handOff(holder, version, userId);
+            } catch (IOException e) {
+                log.warn("유저 넘겨받기 실패: userId={}, holder={}", userId, holder, e);
+                throw new ClusterUnavailableException("유저를 맡았던 인스턴스에서 상태를 넘겨받지 못했습니다. 잠시 후 다시 시도해 주세요.", e);
+            }
+            if (handoff.held()) {
+                pointService.receive(userId, handoff);
+                received.add(userId);
+                log.info("유저 넘겨받음: userId={}, holder={}, 구성원 버전={}, 잔액={}", userId, holder, version, handoff.point());
+                return;
+            }
+        }
+        // 이전 소유자 모두 상태를 갖고 있지 않으면 아직 아무 인스턴스에도 상태가 없는 유저입니다.
+        received.add(userId);
+    }
+
+    private static void await(CompletableFuture<Void> arrival) {
+        try {
+            arrival.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof ClusterUnavailableException unavailable
+                    ? unavailable
+                    : new ClusterUnavailableException("유저를 넘겨받지 못했습니다. 잠시 후 다시 시도해 주세요.", e.getCause());
+        }
+    }
+}
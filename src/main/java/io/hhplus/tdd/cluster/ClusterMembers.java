@@ -0,0 +1,12 @@
+package io.hhplus.tdd.cluster;
+
+import java.util.List;
+
+/// 이 인스턴스가 알고 있는 클러스터 구성원 (version : 구성원 목록 버전)
+public record ClusterMembers(
+        boolean enabled,
+        String self,
+        long version,
+        List<String> members
+) {
+}
@@ -0,0 +1,162 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.point.PointProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 클러스터 구성원 목록과 유저 소유 인스턴스 판단 (point.cluster.enabled)
+ * 구성원 목록에는 버전이 붙고, 목록이 바뀌면 링을 새로 만들어 버전과 함께 한 번에 교체하므로 조회 중인 요청은 항상 하나의 일관된 링을 봅니다.
+ * 인스턴스끼리 주고받는 요청은 같은 버전일 때만 처리하므로(PointForwardingFilter), 목록이 바뀌는 동안 두 인스턴스가 같은 유저를 함께 맡지 않습니다.
+ *
+ * 이 인스턴스에서 처리 중인 요청은 받을 때의 버전별로 세어 두고(enter/exit),
+ * 유저를 다른 인스턴스로 넘기기 전에 이전 버전으로 받은 요청이 모두 끝나기를 기다립니다. (awaitDrained)
+ * 지나간 버전의 링도 보관하여, 새 소유자가 유저의 상태를 갖고 있을 이전 소유자를 찾을 수 있게 합니다. (ClusterHandoff)
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final boolean enabled;
+    private final String self;
+    private final int virtualNodes;
+    // 버전 => 그 버전의 링 (처음 설정한 목록이 버전 0)
+    private final ConcurrentSkipListMap<Long, ConsistentHashRing> rings = new ConcurrentSkipListMap<>();
+    // 버전 => 그 버전으로 받아 처리 중인 요청 수
+    private final Map<Long, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private volatile View view;
+
+    public ClusterMembership(PointProperties pointProperties) {
+        PointProperties.Cluster cluster = pointProperties.cluster();
+        this.enabled = cluster.enabled();
+        this.self = normalize(cluster.self());
+        this.virtualNodes = Math.max(1, cluster.virtualNodes());
+        this.view = new View(0, new ConsistentHashRing(normalize(cluster.members()), virtualNodes));
+        rings.put(0L, view.ring());
+        if (enabled && !view.ring().members().contains(self))
+            throw new IllegalStateException("point.cluster.members 에 자기 자신(" + self + ")이 없습니다.");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public List<String> members() {
+        return view.ring().members();
+    }
+
+    /// 현재 구성원 목록의 버전
+    public long version() {
+        return view.version();
+    }
+
+    /// 유저를 맡은 인스턴스 주소
+    public String owner(long userId) {
+        return enabled ? view.ring().owner(userId) : self;
+    }
+
+    /// 이 인스턴스가 유저를 맡고 있는지 (클러스터 모드가 아니면 항상 true)
+    public boolean isLocal(long userId) {
+        return !enabled || self.equals(view.ring().owner(userId));
+    }
+
+    /// version 의 구성원 목록 기준으로 유저를 맡은 인스턴스 주소 (enter 로 받은 버전으로 판단할 때)
+    public String owner(long version, long userId) {
+        return enabled ? rings.get(version).owner(userId) : self;
+    }
+
+    /// 처음 설정한 구성원 목록 기준으로 이 인스턴스가 유저를 맡았는지
+    boolean isInitialOwner(long userId) {
+        return self.equals(rings.firstEntry().getValue().owner(userId));
+    }
+
+    /// version 이전의 구성원 목록에서 유저를 맡았던 인스턴스들 (최근 버전부터, 자기 자신 제외)
+    List<String> previousOwners(long version, long userId) {
+        List<String> owners = new ArrayList<>();
+        for (ConsistentHashRing ring : rings.headMap(version, false).descendingMap().values()) {
+            String owner = ring.owner(userId);
+            if (!owner.equals(self) && !owners.contains(owner))
+                owners.add(owner);
+        }
+        return owners;
+    }
+
+    /// 요청 처리를 시작하고, 이 요청이 따를 구성원 목록의 버전을 반환합니다. 처리가 끝나면 반드시 exit 로 알려야 합니다.
+    /// 세고 나서 버전이 바뀌었으면 다시 세므로, 목록을 바꾼 뒤의 awaitDrained 는 이전 버전으로 받은 요청을 빠뜨리지 않습니다.
+    public long enter() {
+        while (true) {
+            long version = view.version();
+            AtomicInteger count = inFlight.computeIfAbsent(version, v -> new AtomicInteger());
+            count.incrementAndGet();
+            if (view.version() == version)
+                return version;
+            count.decrementAndGet();
+        }
+    }
+
+    public void exit(long version) {
+        inFlight.get(version).decrementAndGet();
+    }
+
+    /// version 보다 이전 버전으로 받은 요청이 모두 끝날 때까지 최대 timeout 동안 기다립니다. 모두 끝났으면 true
+    boolean awaitDrained(long version, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            boolean drained = true;
+            for (Map.Entry<Long, AtomicInteger> entry : inFlight.entrySet())
+                if (entry.getKey() < version && entry.getValue().get() > 0)
+                    drained = false;
+            if (drained)
+                return true;
+            if (System.nanoTime() >= deadline)
+                return false;
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /// 구성원 목록을 version 으로 바꾸고 링을 다시 만듭니다. 이후 요청부터 새 소유자 기준으로 전달됩니다.
+    /// version 은 현재 버전보다 커야 하며, 목록에서 빠지는 인스턴스를 포함해 모든 인스턴스에 같은 버전으로 같은 목록을 보내야 합니다.
+    /// 목록에서 빠진 인스턴스는 맡은 유저가 없으므로 모든 요청을 전달하고, 갖고 있던 유저의 상태를 새 소유자에게 넘겨주기만 합니다.
+    public synchronized void update(long version, List<String> members) {
+        List<String> normalized = normalize(members);
+        if (normalized.isEmpty() || normalized.stream().anyMatch(String::isBlank))
+            throw new InvalidClusterMembershipException("구성원 목록이 비어 있거나 빈 주소가 있습니다.");
+        if (version <= view.version())
+            throw new InvalidClusterMembershipException("구성원 목록 버전은 현재 버전(" + view.version() + ")보다 커야 합니다.");
+        ConsistentHashRing ring = new ConsistentHashRing(normalized, virtualNodes);
+        rings.put(version, ring);
+        view = new View(version, ring);
+        log.info("클러스터 구성원 변경: 버전={}, 구성원={}", version, normalized);
+    }
+
+    private static List<String> normalize(List<String> members) {
+        return members.stream().map(ClusterMembership::normalize).distinct().toList();
+    }
+
+    private static String normalize(String member) {
+        return member.endsWith("/") ? member.substring(0, member.length() - 1) : member;
+    }
+
+    /// 구성원 목록의 버전과 그 링 (항상 함께 교체)
+    private record View(long version, ConsistentHashRing ring) {
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.cluster;
+
+/// 구성원 목록이 바뀌는 중이라 유저를 지금 처리할 수 없는 경우 (인스턴스 간 구성원 버전 불일치, 유저 이전 실패 등) => 503 으로 응답
+/// 요청은 처리하지 않았으므로 잠시 후 다시 시도하면 됩니다.
+public class ClusterUnavailableException extends RuntimeException {
+
+    public ClusterUnavailableException(String message) {
+        super(message);
+    }
+
+    public ClusterUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * userId 를 인스턴스에 배정하는 일관된 해싱 링 (불변)
+ * 인스턴스마다 virtualNodes 개의 점을 링 위에 올리고, userId 의 해시에서 시계 방향으로 처음 만나는 점의 인스턴스가 소유자입니다.
+ * 인스턴스가 추가/제거되어도 그 인스턴스와 맞닿은 구간의 유저만 소유자가 바뀝니다.
+ */
+public final class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final List<String> members;
+
+    public ConsistentHashRing(List<String> members, int virtualNodes) {
+        this.members = List.copyOf(members);
+        for (String member : this.members)
+            for (int i = 0; i < virtualNodes; i++)
+                ring.put(hash(member + "#" + i), member);
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    /// 유저를 맡은 인스턴스 (인스턴스가 없으면 null)
+    public String owner(long userId) {
+        if (ring.isEmpty())
+            return null;
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(userId));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    /// FNV-1a 64비트 해시를 한 번 더 섞어 링 위에 고르게 퍼뜨립니다.
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /// murmur3 finalizer
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
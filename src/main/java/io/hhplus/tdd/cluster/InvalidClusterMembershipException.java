@@ -0,0 +1,9 @@
+package io.hhplus.tdd.cluster;
+
+/// 구성원 목록 변경 요청이 잘못된 경우 (빈 목록, 현재보다 크지 않은 버전) => 400 으로 응답
+public class InvalidClusterMembershipException extends RuntimeException {
+
+    public InvalidClusterMembershipException(String message) {
+        super(message);
+    }
+}
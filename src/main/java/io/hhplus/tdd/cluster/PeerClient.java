@@ -0,0 +1,103 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointHandoff;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 다른 인스턴스로 요청을 전달하는 HTTP 클라이언트
+ * 전달한 요청에는 X-Point-Forwarded-By 헤더를 붙여, 받은 쪽이 다시 전달하지 않도록(전달 반복 방지) 합니다.
+ * X-Point-Membership-Version 헤더에는 보내는 쪽이 따른 구성원 목록 버전을 붙여, 받은 쪽이 같은 버전일 때만 처리하도록 합니다.
+ */
+@Component
+public class PeerClient {
+
+    public static final String FORWARDED_BY = "X-Point-Forwarded-By";
+    public static final String MEMBERSHIP_VERSION = "X-Point-Membership-Version";
+
+    // HttpClient 가 직접 관리하는 헤더는 복사하지 않습니다.
+    private static final Set<String> RESTRICTED_HEADERS =
+            Set.of("host", "connection", "content-length", "expect", "upgrade", "transfer-encoding",
+                    FORWARDED_BY.toLowerCase(), MEMBERSHIP_VERSION.toLowerCase());
+
+    private static final TypeReference<List<PointOperationResult>> BATCH_RESULTS = new TypeReference<>() {
+    };
+
+    private final ClusterMembership clusterMembership;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    public PeerClient(ClusterMembership clusterMembership, ObjectMapper objectMapper) {
+        this.clusterMembership = clusterMembership;
+        this.objectMapper = objectMapper;
+    }
+
+    /// 받은 요청을 그대로 owner 에게 보내고 응답을 돌려받습니다. version : 소유자를 정한 구성원 목록 버전
+    public HttpResponse<byte[]> forward(String owner, long version, String method, String pathAndQuery,
+                                        Map<String, List<String>> headers, byte[] body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(owner + pathAndQuery))
+                .timeout(Duration.ofSeconds(10))
+                .method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_BY, clusterMembership.self())
+                .header(MEMBERSHIP_VERSION, String.valueOf(version));
+        headers.forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase()))
+                values.forEach(value -> builder.header(name, value));
+        });
+        return send(builder.build());
+    }
+
+    /// owner 가 맡은 유저들의 일괄 처리 요청을 보내고 건별 결과를 받습니다.
+    public List<PointOperationResult> executeBatch(String owner, long version, List<PointOperation> operations) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(owner + "/point/batch"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header(FORWARDED_BY, clusterMembership.self())
+                .header(MEMBERSHIP_VERSION, String.valueOf(version))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(operations)))
+                .build();
+        HttpResponse<byte[]> response = send(request);
+        if (response.statusCode() != 200)
+            throw new IOException(owner + " 일괄 처리 실패 (status=" + response.statusCode() + ")");
+        return objectMapper.readValue(response.body(), BATCH_RESULTS);
+    }
+
+    /// holder 에게 유저의 상태를 넘겨 달라고 요청합니다. holder 가 상태를 갖고 있지 않으면 held 가 false 인 결과를 받습니다.
+    public PointHandoff handOff(String holder, long version, long userId) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(holder + "/cluster/users/" + userId + "/handoff"))
+                .timeout(Duration.ofSeconds(30))
+                .header(FORWARDED_BY, clusterMembership.self())
+                .header(MEMBERSHIP_VERSION, String.valueOf(version))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<byte[]> response = send(request);
+        if (response.statusCode() != 200)
+            throw new IOException(holder + " 유저 " + userId + " 넘겨받기 실패 (status=" + response.statusCode() + ")");
+        return objectMapper.readValue(response.body(), PointHandoff.class);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("요청 전달이 중단되었습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.point.InvalidPointRequestException;
+import io.hhplus.tdd.point.PointBatchService;
+import io.hhplus.tdd.point.PointOperation;
+import io.hhplus.tdd.point.PointOperationResult;
+import io.hhplus.tdd.point.PointProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 일괄 처리 요청을 유저 소유 인스턴스별로 나누어 처리합니다.
+ * 이 인스턴스가 맡은 유저는 PointBatchService 로 직접 처리하고, 나머지는 소유 인스턴스에 한 번씩 묶어 보낸 뒤
+ * 결과를 요청 순서대로 합칩니다. 클러스터 모드가 아니면 PointBatchService 를 그대로 호출합니다.
+ * 소유자는 요청을 받을 때의 구성원 버전으로 정하며, 이 인스턴스가 맡은 유저 중 상태를 넘겨받지 못한 유저의 요청은 실패로 돌려줍니다.
+ */
+@Service
+public class PointBatchRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointBatchRouter.class);
+
+    private final PointBatchService pointBatchService;
+    private final ClusterMembership clusterMembership;
+    private final ClusterHandoff clusterHandoff;
+    private final PeerClient peerClient;
+    private final PointProperties pointProperties;
+
+    public PointBatchRouter(PointBatchService pointBatchService, ClusterMembership clusterMembership,
+                            ClusterHandoff clusterHandoff, PeerClient peerClient, PointProperties pointProperties) {
+        this.pointBatchService = pointBatchService;
+        this.clusterMembership = clusterMembership;
+        this.clusterHandoff = clusterHandoff;
+        this.peerClient = peerClient;
+        this.pointProperties = pointProperties;
+    }
+
+    /// forwarded : 다른 인스턴스가 전달한 요청인지 (전달받은 요청은 다시 전달하지 않음)
+    public List<PointOperationResult> execute(List<PointOperation> operations, boolean forwarded) {
+        if (!clusterMembership.isEnabled())
+            return pointBatchService.execute(operations);
+        int maxSize = pointProperties.batch().maxSize();
+        if (operations.size() > maxSize)
+            throw new InvalidPointRequestException("일괄 처리는 최대 " + maxSize + "건까지 가능합니다.");
+
+        long version = clusterMembership.enter();
+        try {
+            // 소유 인스턴스 => 해당 인스턴스가 맡은 요청의 위치(요청 순서 유지)
+            Map<String, List<Integer>> groups = new LinkedHashMap<>();
+            for (int i = 0; i < operations.size(); i++)
+                groups.computeIfAbsent(clusterMembership.owner(version, operations.get(i).userId()), k -> new ArrayList<>()).add(i);
+
+            PointOperationResult[] results = new PointOperationResult[operations.size()];
+            List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+            groups.forEach((owner, indexes) -> {
+                if (owner.equals(clusterMembership.self()))
+                    executeLocal(version, indexes, operations, results);
+                else if (forwarded)
+                    fail(results, indexes, indexes.stream().map(operations::get).toList(), "이 인스턴스가 맡은 유저가 아닙니다. 잠시 후 다시 시도해 주세요.");
+                else
+                    futures.add(CompletableFuture.runAsync(() -> executeRemote(owner, version, indexes, indexes.stream().map(operations::get).toList(), results)));
+            });
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            return Arrays.asList(results);
+        } finally {
+            clusterMembership.exit(version);
+        }
+    }
+
+    /// 상태를 넘겨받지 못한 유저의 요청은 실패로 채우고, 나머지만 이 인스턴스에서 처리합니다.
+    private void executeLocal(long version, List<Integer> indexes, List<PointOperation> operations, PointOperationResult[] results) {
+        Map<Long, String> unavailable = new HashMap<>();
+        List<Integer> ready = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            long userId = operations.get(index).userId();
+            if (!unavailable.containsKey(userId)) {
+                try {
+                    clusterHandoff.ensureArrived(version, userId);
+                } catch (ClusterUnavailableException e) {
+                    unavailable.put(userId, e.getMessage());
+                }
+            }
+            String error = unavailable.get(userId);
+            if (error != null)
+                results[index] = PointOperationResult.failure(operations.get(index), error);
+            else
+                ready.add(index);
+        }
+        if (!ready.isEmpty())
+            fill(results, ready, pointBatchService.execute(ready.stream().map(operations::get).toList()));
+    }
+
+    private void executeRemote(String owner, long version, List<Integer> indexes, List<PointOperation> group, PointOperationResult[] results) {
+        try {
+            List<PointOperationResult> remote = peerClient.executeBatch(owner, version, group);
+            if (remote.size() != group.size())
+                throw new IOException(owner + " 일괄 처리 결과 건수 불일치");
+            fill(results, indexes, remote);
+        } catch (IOException e) {
+            log.warn("일괄 처리 전달 실패: owner={}", owner, e);
+            fail(results, indexes, group, "유저를 맡은 인스턴스에 연결할 수 없습니다.");
+        }
+    }
+
+    private static void fill(PointOperationResult[] results, List<Integer> indexes, List<PointOperationResult> groupResults) {
+        for (int i = 0; i < indexes.size(); i++)
+            results[indexes.get(i)] = groupResults.get(i);
+    }
+
+    private static void fail(PointOperationResult[] results, List<Integer> indexes, List<PointOperation> group, String error) {
+        for (int i = 0; i < indexes.size(); i++)
+            results[indexes.get(i)] = PointOperationResult.failure(group.get(i), error);
+    }
+}
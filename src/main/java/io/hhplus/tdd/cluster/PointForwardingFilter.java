@@ -0,0 +1,188 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * /point/{id}/**, /reactive/point/{id}/** 요청을 그 유저를 맡은 인스턴스로 전달합니다. (point.cluster.enabled)
+ * 한 유저의 요청은 항상 한 인스턴스에서만 처리되므로, 그 인스턴스의 유저 락만으로 인스턴스 간에도 요청이 직렬화됩니다.
+ * 이미 전달받은 요청인데 이 인스턴스가 소유자가 아니면(구성원 목록이 서로 다른 경우) 다시 전달하지 않고 503 을 돌려줍니다.
+ *
+ * 다른 인스턴스가 보낸 요청(전달, 일괄 처리, 유저 넘겨주기)은 구성원 목록 버전이 이 인스턴스와 같을 때만 처리하고, 다르면 503 을 돌려줍니다.
+ * 이 인스턴스에서 처리하는 유저 요청은 받을 때의 버전으로 소유자를 정하고 끝날 때까지 그 버전으로 세어 두며(비동기 응답이면 완료 시점까지),
+ * 처리하기 전에 소유자가 바뀌어 들어온 유저의 상태를 이전 소유자에게서 넘겨받습니다. (ClusterHandoff)
+ */
+@Component
+public class PointForwardingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointForwardingFilter.class);
+    private static final Pattern USER_PATH = Pattern.compile("^(?:/reactive)?/point/(\\d+)(/.*)?$");
+    // 응답 본문을 그대로 다시 쓰므로 전송 방식 관련 헤더는 복사하지 않습니다.
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "content-length", "transfer-encoding", "keep-alive");
+
+    private final ClusterMembership clusterMembership;
+    private final ClusterHandoff clusterHandoff;
+    private final PeerClient peerClient;
+    private final ObjectMapper objectMapper;
+
+    public PointForwardingFilter(ClusterMembership clusterMembership, ClusterHandoff clusterHandoff,
+                                 PeerClient peerClient, ObjectMapper objectMapper) {
+        this.clusterMembership = clusterMembership;
+        this.clusterHandoff = clusterHandoff;
+        this.peerClient = peerClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !clusterMembership.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean forwarded = request.getHeader(PeerClient.FORWARDED_BY) != null;
+        if (forwarded && !String.valueOf(clusterMembership.version()).equals(request.getHeader(PeerClient.MEMBERSHIP_VERSION))) {
+            writeError(response, 503, "구성원 목록 버전이 다릅니다. 잠시 후 다시 시도해 주세요.");
+            return;
+        }
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+        if (!matcher.matches()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long userId;
+        try {
+            userId = Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long version = clusterMembership.enter();
+        String owner = clusterMembership.owner(version, userId);
+        if (!owner.equals(clusterMembership.self())) {
+            // 전달하는 요청은 이 인스턴스의 상태를 바꾸지 않으므로 세지 않습니다.
+            clusterMembership.exit(version);
+            if (forwarded)
+                writeError(response, 503, "이 인스턴스가 맡은 유저가 아닙니다. 잠시 후 다시 시도해 주세요.");
+            else
+                forward(request, response, owner, version);
+            return;
+        }
+
+        VersionExit exit = new VersionExit(clusterMembership, version);
+        try {
+            try {
+                clusterHandoff.ensureArrived(version, userId);
+            } catch (ClusterUnavailableException e) {
+                writeError(response, 503, e.getMessage());
+                return;
+            }
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(exit);
+                exit = null;
+            }
+        } finally {
+            if (exit != null)
+                exit.run();
+        }
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response, String owner, long version) throws IOException {
+        HttpResponse<byte[]> forwarded;
+        try {
+            forwarded = peerClient.forward(owner, version, request.getMethod(), pathAndQuery(request),
+                    headers(request), request.getInputStream().readAllBytes());
+        } catch (IOException e) {
+            log.warn("요청 전달 실패: owner={}, uri={}", owner, request.getRequestURI(), e);
+            writeError(response, 502, "유저를 맡은 인스턴스에 연결할 수 없습니다.");
+            return;
+        }
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().map().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase()) && !name.startsWith(":"))
+                values.forEach(value -> response.addHeader(name, value));
+        });
+        response.setContentLength(forwarded.body().length);
+        response.getOutputStream().write(forwarded.body());
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(new ErrorResponse(String.valueOf(status), message)));
+    }
+
+    private static String pathAndQuery(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+
+    /// 요청 처리가 끝나면(비동기 응답이면 완료/실패/시간 초과 중 처음 한 번) 버전별 처리 중 요청 수에서 뺍니다.
+    private static final class VersionExit implements AsyncListener, Runnable {
+        private final ClusterMembership clusterMembership;
+        private final long version;
+        private final AtomicBoolean exited = new AtomicBoolean();
+
+        VersionExit(ClusterMembership clusterMembership, long version) {
+            this.clusterMembership = clusterMembership;
+            this.version = version;
+        }
+
+        @Override
+        public void run() {
+            if (exited.compareAndSet(false, true))
+                clusterMembership.exit(version);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private static Map<String, List<String>> headers(HttpServletRequest request) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : Collections.list(request.getHeaderNames()))
+            headers.put(name, Collections.list(request.getHeaders(name)));
+        return headers;
+    }
+}
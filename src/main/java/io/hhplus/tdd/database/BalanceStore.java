@@ -0,0 +1,18 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 유저 잔액 저장소
+ * PointService 는 이 인터페이스로만 잔액을 읽고 씁니다.
+ * point.store.type 설정으로 구현을 고릅니다.
+ * - table(기본) : UserPointTable 을 그대로 사용
+ * - packed : long 키 오픈 어드레싱 + long[] 슬롯에 담는 저메모리 저장소
+ */
+public interface BalanceStore {
+
+    /// 신규 유저는 0 포인트를 반환합니다.
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+}
@@ -0,0 +1,195 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * long 키 오픈 어드레싱 잔액 저장소
+ * UserPointTable 의 HashMap 은 유저마다 Long 키, 맵 노드, UserPoint 객체를 따로 만들지만,
+ * 이 저장소는 (id, point, updateMillis) 를 long[] 한 배열에 연속으로 담아 유저당 객체를 하나도 만들지 않습니다.
+ * 동시 접근은 세그먼트별 락으로 나누어 처리합니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "type", havingValue = "packed")
+public class PackedBalanceStore implements BalanceStore {
+
+    private static final int SEGMENTS = 64;
+    private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public PackedBalanceStore(PointProperties pointProperties) {
+        int perSegment = Math.max(16, pointProperties.store().initialCapacity() / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++)
+            segments[i] = new Segment(perSegment);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long hash = mix(id);
+        return segments[(int) (hash >>> SEGMENT_SHIFT)].get(id, hash);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long hash = mix(id);
+        long now = System.currentTimeMillis();
+        segments[(int) (hash >>> SEGMENT_SHIFT)].put(id, hash, amount, now);
+        return new UserPoint(id, amount, now);
+    }
+
+    /// 수정 시각을 지정해 저장 (스냅샷/저널 복구용)
+    void put(long id, long point, long updateMillis) {
+        long hash = mix(id);
+        segments[(int) (hash >>> SEGMENT_SHIFT)].put(id, hash, point, updateMillis);
+    }
+
+    /// 저장된 모든 잔액을 객체 생성 없이 순회합니다.
+    /// 세그먼트 단위로 락을 잡으므로 순회 중 다른 세그먼트의 변경은 반영될 수도, 안 될 수도 있습니다.
+    void forEach(BalanceVisitor visitor) {
+        for (Segment segment : segments)
+            segment.forEach(visitor);
+    }
+
+    /// 저장된 유저 수
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments)
+            size += segment.size();
+        return size;
+    }
+
+    interface BalanceVisitor {
+        void visit(long id, long point, long updateMillis);
+    }
+
+    /// murmur3 finalizer => 연속된 유저 ID 도 고르게 퍼지도록 섞습니다.
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /// 슬롯 i 의 값은 slots[i * 3] = id, slots[i * 3 + 1] = point, slots[i * 3 + 2] = updateMillis
+    /// 유저 ID 는 어떤 long 값이든 될 수 있으므로 빈 슬롯 여부는 별도 비트맵(used)으로 표시합니다.
+    private static final class Segment {
+        private static final int STRIDE = 3;
+        private static final double MAX_LOAD = 0.75;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] slots;
+        private long[] used;
+        private int capacity;
+        private int size;
+
+        Segment(int initialCapacity) {
+            allocate(Integer.highestOneBit(initialCapacity - 1) << 1);
+        }
+
+        UserPoint get(long id, long hash) {
+            lock.lock();
+            try {
+                int slot = find(id, hash);
+                if (!isUsed(slot))
+                    return UserPoint.empty(id);
+                int base = slot * STRIDE;
+                return new UserPoint(id, slots[base + 1], slots[base + 2]);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(long id, long hash, long point, long updateMillis) {
+            lock.lock();
+            try {
+                int slot = find(id, hash);
+                if (!isUsed(slot)) {
+                    if (size + 1 > capacity * MAX_LOAD) {
+                        resize();
+                        slot = find(id, hash);
+                    }
+                    markUsed(slot);
+                    size++;
+                }
+                int base = slot * STRIDE;
+                slots[base] = id;
+                slots[base + 1] = point;
+                slots[base + 2] = updateMillis;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void forEach(BalanceVisitor visitor) {
+            lock.lock();
+            try {
+                for (int slot = 0; slot < capacity; slot++) {
+                    if (!isUsed(slot))
+                        continue;
+                    int base = slot * STRIDE;
+                    visitor.visit(slots[base], slots[base + 1], slots[base + 2]);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /// id 가 있는 슬롯, 없으면 id 가 들어갈 빈 슬롯 (선형 탐사)
+        private int find(long id, long hash) {
+            int mask = capacity - 1;
+            int slot = (int) hash & mask;
+            while (isUsed(slot) && slots[slot * STRIDE] != id)
+                slot = (slot + 1) & mask;
+            return slot;
+        }
+
+        private void resize() {
+            long[] oldSlots = slots;
+            long[] oldUsed = used;
+            int oldCapacity = capacity;
+            allocate(capacity << 1);
+            for (int slot = 0; slot < oldCapacity; slot++) {
+                if ((oldUsed[slot >>> 6] & (1L << slot)) == 0)
+                    continue;
+                int base = slot * STRIDE;
+                long id = oldSlots[base];
+                int target = find(id, mix(id));
+                markUsed(target);
+                int targetBase = target * STRIDE;
+                slots[targetBase] = id;
+                slots[targetBase + 1] = oldSlots[base + 1];
+                slots[targetBase + 2] = oldSlots[base + 2];
+            }
+        }
+
+        private void allocate(int newCapacity) {
+            capacity = newCapacity;
+            slots = new long[newCapacity * STRIDE];
+            used = new long[Math.max(1, newCapacity >>> 6)];
+        }
+
+        private boolean isUsed(int slot) {
+            return (used[slot >>> 6] & (1L << slot)) != 0;
+        }
+
+        private void markUsed(int slot) {
+            used[slot >>> 6] |= 1L << slot;
+        }
+    }
+}
@@ -0,0 +1,532 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 충전/사용 이벤트를 파일에 남기는 append-only 저널입니다. (point.durability.enabled)
+ * 이벤트 하나는 48바이트 고정 크기 레코드로, memory-mapped 세그먼트 파일(journal-<첫 번호>.log)에 순서대로 기록합니다.
+ * 레코드에는 변경 후 잔액을 그대로 담기 때문에 같은 이벤트를 여러 번 적용해도 결과가 같습니다.
+ *
+ * - group commit : append 는 매핑된 메모리에 쓰기만 하고, sync 를 부른 스레드 중 하나가 대표로 force(fsync) 하면
+ *                  그 시점까지 append 된 다른 스레드의 이벤트도 함께 디스크에 반영됩니다.
+ * - 스냅샷 : snapshotInterval 건마다 전체 잔액을 snapshot-<번호>.snap 으로 저장합니다.
+ *            재시작 시에는 최신 스냅샷을 읽고 그 번호 이후의 저널만 다시 적용합니다.
+ *            새 스냅샷이 깨졌을 때 되돌아갈 수 있도록 바로 앞 스냅샷 하나는 남겨 둡니다.
+ * - 정리 : 이력을 복구하지 않으면(restoreHistory=false) 바로 앞 스냅샷보다 앞선 레코드만 담긴 세그먼트를 지워
+ *          저널 파일이 계속 늘어나지 않게 합니다. 이력을 복구하는 경우 저널 전체가 필요하므로 지우지 않습니다.
+ * - 묶음 : 이체처럼 함께 반영되어야 하는 이벤트는 appendAll 로 같은 세그먼트에 연속으로 기록하고,
+ *          복구할 때 묶음의 레코드가 모두 온전한 경우에만 적용합니다. (일부만 남았으면 묶음 전체를 끊긴 부분으로 봅니다)
+ *
+ * 저널 레코드 구성 (big-endian, ByteBuffer 기본값)
+ * historyId(8) userId(8) amount(8) balance(8) updateMillis(8) type(1) remaining(1) padding(2) crc32(4)
+ * remaining : 같은 묶음에서 이 레코드 뒤에 이어지는 레코드 수 (단건이면 0)
+ *
+ * 스냅샷 구성
+ * magic(8) 번호(8) 마지막 이력 id(8) [userId(8) point(8) updateMillis(8)]... 유저 수(8) crc32(8)
+ */
+@Component
+public class PointEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(PointEventLog.class);
+
+    static final int RECORD_BYTES = 48;
+    private static final int CRC_OFFSET = 44;
+    private static final int REMAINING_OFFSET = 41;
+    private static final long SNAPSHOT_MAGIC = 0x504f494e54534e32L; // "POINTSN2"
+    private static final int SNAPSHOT_HEADER_BYTES = 24;
+    private static final int SNAPSHOT_FOOTER_BYTES = 16;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentRecords;
+    private final long snapshotInterval;
+    private final boolean compactSegments;
+
+    // 복구된 뒤 append 로 계속 갱신되는 유저별 최신 잔액 (스냅샷 원본)
+    private final PackedBalanceStore balances;
+
+    // 레코드 번호 발급과 세그먼트 쓰기는 appendLock 안에서 순서대로 처리합니다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+    private final CRC32 crc = new CRC32();
+    private Segment current;
+    private volatile long nextSeq;
+    // 기록(또는 복구)된 이력 중 가장 큰 id, 재시작 후 이력 id 를 이어서 발급하는 기준
+    private volatile long lastHistoryId;
+    private volatile boolean closed;
+
+    // group commit 진행 상황
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+    private long durableSeq;
+    private boolean forcing;
+
+    private final ExecutorService snapshotWriter;
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private volatile long lastSnapshotSeq;
+
+    public PointEventLog(PointProperties pointProperties) {
+        PointProperties.Durability durability = pointProperties.durability();
+        this.enabled = durability.enabled();
+        this.directory = Path.of(durability.directory());
+        // 이체 한 건(2건 묶음)은 한 세그먼트 안에 있어야 하므로 세그먼트는 최소 2건을 담습니다.
+        this.segmentRecords = Math.max(2, durability.segmentSize() / RECORD_BYTES);
+        this.snapshotInterval = Math.max(1, durability.snapshotInterval());
+        this.compactSegments = !durability.restoreHistory();
+        if (!enabled) {
+            this.balances = null;
+            this.snapshotWriter = null;
+            return;
+        }
+        this.balances = new PackedBalanceStore(pointProperties);
+        this.snapshotWriter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 저널을 열 수 없습니다: " + directory, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /// 이력 한 건과 변경 후 잔액을 저널에 기록합니다. 유저 락을 잡은 상태에서 호출합니다.
+    /// 디스크 반영은 보장하지 않으므로 응답 전에 sync 를 불러야 합니다.
+    public void append(PointHistory pointHistory, long balance) {
+        if (!enabled)
+            return;
+        appendLock.lock();
+        try {
+            long seq = reserve(1);
+            write(seq, pointHistory, balance, 0);
+            nextSeq = seq + 1;
+        } finally {
+            appendLock.unlock();
+        }
+        snapshotIfDue();
+    }
+
+    /// 여러 이력을 하나의 묶음으로 기록합니다. (이체의 출금/입금처럼 일부만 반영되면 안 되는 이벤트)
+    /// 묶음은 한 세그먼트에 연속으로 기록되고, 복구 시 모두 온전할 때만 적용됩니다. balances 는 이력마다의 변경 후 잔액입니다.
+    public void appendAll(List<PointHistory> histories, long... balances) {
+        if (!enabled)
+            return;
+        int size = histories.size();
+        if (size != balances.length || size > segmentRecords)
+            throw new IllegalArgumentException("이벤트 묶음의 크기가 잘못되었습니다: " + size);
+        appendLock.lock();
+        try {
+            long seq = reserve(size);
+            for (int i = 0; i < size; i++)
+                write(seq + i, histories.get(i), balances[i], size - 1 - i);
+            nextSeq = seq + size;
+        } finally {
+            appendLock.unlock();
+        }
+        snapshotIfDue();
+    }
+
+    /// count 건을 이어서 기록할 번호를 반환합니다. 현재 세그먼트에 다 들어가지 않으면 다음 세그먼트를 새로 만듭니다. (appendLock 안에서 호출)
+    private long reserve(int count) {
+        if (closed)
+            throw new IllegalStateException("포인트 저널이 종료되었습니다.");
+        long seq = nextSeq;
+        if (seq - current.firstSeq + count > segmentRecords)
+            roll(seq);
+        return seq;
+    }
+
+    /// 레코드 하나를 현재 세그먼트에 쓰고 잔액을 반영합니다. (appendLock 안에서 호출)
+    private void write(long seq, PointHistory pointHistory, long balance, int remaining) {
+        record.clear();
+        record.putLong(pointHistory.id())
+                .putLong(pointHistory.userId())
+                .putLong(pointHistory.amount())
+                .putLong(balance)
+                .putLong(pointHistory.updateMillis())
+                .put((byte) pointHistory.type().ordinal())
+                .put((byte) remaining);
+        crc.reset();
+        crc.update(record.array(), 0, CRC_OFFSET);
+        record.putInt(CRC_OFFSET, (int) crc.getValue());
+        current.buffer.put((int) (seq - current.firstSeq) * RECORD_BYTES, record.array(), 0, RECORD_BYTES);
+        balances.put(pointHistory.userId(), balance, pointHistory.updateMillis());
+        lastHistoryId = Math.max(lastHistoryId, pointHistory.id());
+    }
+
+    private void snapshotIfDue() {
+        if (nextSeq - lastSnapshotSeq >= snapshotInterval && snapshotRunning.compareAndSet(false, true))
+            snapshotWriter.execute(this::snapshot);
+    }
+
+    /// 지금까지 append 된 이벤트가 디스크에 반영될 때까지 기다립니다. (group commit)
+    /// 이미 다른 스레드가 force 중이면 그 결과를 기다렸다가, 아직 부족하면 직접 대표가 되어 force 합니다.
+    public void sync() {
+        if (!enabled)
+            return;
+        long target = nextSeq;
+        syncLock.lock();
+        try {
+            while (durableSeq < target) {
+                if (forcing) {
+                    synced.await();
+                    continue;
+                }
+                forcing = true;
+                syncLock.unlock();
+                long forced = -1;
+                try {
+                    forced = force();
+                } finally {
+                    syncLock.lock();
+                    forcing = false;
+                    durableSeq = Math.max(durableSeq, forced);
+                    synced.signalAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("저널 sync 가 중단되었습니다.", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /// 지금까지 기록된 이벤트 수 (다음 레코드 번호)
+    public long size() {
+        return nextSeq;
+    }
+
+    /// 기록(또는 복구)된 이력 중 가장 큰 id, 없으면 0
+    /// 이력을 복구하지 않아도(restoreHistory=false) 스냅샷과 남은 저널로 구하므로, 재시작 후 이력 id 가 겹치지 않게 이어서 발급할 수 있습니다.
+    public long lastHistoryId() {
+        return lastHistoryId;
+    }
+
+    /// 마지막으로 저장(또는 복구)된 스냅샷 번호
+    long snapshotSeq() {
+        return lastSnapshotSeq;
+    }
+
+    /// 복구된(또는 지금까지 기록된) 유저별 최신 잔액을 순회합니다.
+    public void forEachBalance(BalanceVisitor visitor) {
+        if (enabled)
+            balances.forEach(visitor::visit);
+    }
+
+    /// 저널 전체를 처음부터 읽어 이력을 순서대로 돌려줍니다. (기동 시 이력 복구용, append 전에만 호출)
+    public void replayHistories(HistoryVisitor visitor) {
+        if (!enabled)
+            return;
+        try {
+            for (Path file : list("journal-", ".log")) {
+                long firstSeq = number(file, "journal-", ".log");
+                if (firstSeq >= nextSeq)
+                    break;
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    int count = (int) Math.min(channel.size() / RECORD_BYTES, nextSeq - firstSeq);
+                    int index = 0;
+                    for (int group; index < count && (group = validGroup(buffer, index, count)) > 0; index += group) {
+                        for (int n = index; n < index + group; n++) {
+                            int offset = n * RECORD_BYTES;
+                            visitor.visit(new PointHistory(buffer.getLong(offset), buffer.getLong(offset + 8),
+                                    buffer.getLong(offset + 16), TYPES[buffer.get(offset + 40)], buffer.getLong(offset + 32)));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /// 더 이상 append 를 받지 않고, 진행 중인 스냅샷을 마친 뒤 남은 이벤트를 디스크에 반영합니다.
+    @PreDestroy
+    public void close() {
+        if (!enabled)
+            return;
+        appendLock.lock();
+        try {
+            if (closed)
+                return;
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        snapshotWriter.shutdown();
+        try {
+            snapshotWriter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sync();
+    }
+
+    /// 스냅샷 시작 시점의 번호를 기록해 두고 잔액을 순회합니다.
+    /// 순회 중 들어온 이벤트가 일부 섞일 수 있지만, 레코드에 변경 후 잔액을 담고 있으므로
+    /// 그 번호 이후의 저널을 다시 적용하면 항상 최신 잔액이 됩니다.
+    void snapshot() {
+        try {
+            // 번호를 먼저 읽으므로, 그 번호까지의 레코드는 모두 아래의 마지막 이력 id 에 포함됩니다.
+            long seq = nextSeq;
+            long historyId = lastHistoryId;
+            Path target = directory.resolve(String.format("snapshot-%020d.snap", seq));
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+            CRC32 checksum = new CRC32();
+            long[] count = new long[1];
+            try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                 DataOutputStream out = new DataOutputStream(
+                         new BufferedOutputStream(new CheckedOutputStream(file, checksum), 1 << 16))) {
+                out.writeLong(SNAPSHOT_MAGIC);
+                out.writeLong(seq);
+                out.writeLong(historyId);
+                balances.forEach((id, point, updateMillis) -> {
+                    try {
+                        out.writeLong(id);
+                        out.writeLong(point);
+                        out.writeLong(updateMillis);
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.writeLong(count[0]);
+                out.flush();
+                out.writeLong(checksum.getValue());
+                out.flush();
+                // 스냅샷에 담긴 잔액을 만든 이벤트가 모두 디스크에 있어야 스냅샷만 남고 저널이 유실되는 일이 없습니다.
+                sync();
+                file.getChannel().force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            long previousSeq = lastSnapshotSeq;
+            lastSnapshotSeq = seq;
+            for (Path old : list("snapshot-", ".snap"))
+                if (number(old, "snapshot-", ".snap") < previousSeq)
+                    Files.deleteIfExists(old);
+            if (compactSegments && previousSeq > 0)
+                deleteSegmentsBefore(previousSeq);
+            log.info("잔액 스냅샷 저장: 번호={}, 유저 수={}", seq, count[0]);
+        } catch (IOException | RuntimeException e) {
+            log.error("잔액 스냅샷 저장 실패", e);
+        } finally {
+            snapshotRunning.set(false);
+        }
+    }
+
+    /// seq 이전 레코드만 담긴 세그먼트(다음 세그먼트가 seq 이하에서 시작)를 지웁니다. 기록 중인 마지막 세그먼트는 지우지 않습니다.
+    private void deleteSegmentsBefore(long seq) throws IOException {
+        List<Path> segments = list("journal-", ".log");
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (number(segments.get(i + 1), "journal-", ".log") > seq)
+                break;
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    /// 최신 스냅샷 + 그 이후 저널로 잔액을 복구하고, 마지막 세그먼트에 이어 쓸 위치를 찾습니다.
+    private void recover() throws IOException {
+        long snapshotSeq = loadLatestSnapshot();
+        lastSnapshotSeq = snapshotSeq;
+
+        List<Path> segments = list("journal-", ".log");
+        long seq = snapshotSeq;
+        for (int i = 0; i < segments.size(); i++) {
+            Path file = segments.get(i);
+            long firstSeq = number(file, "journal-", ".log");
+            boolean last = i == segments.size() - 1;
+            // 스냅샷보다 앞선 세그먼트는 건너뜁니다. (다음 세그먼트가 스냅샷 번호 이하에서 시작)
+            if (!last && number(segments.get(i + 1), "journal-", ".log") <= snapshotSeq)
+                continue;
+            MappedByteBuffer buffer = map(file, last ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY);
+            int limit = Math.min(segmentRecords, buffer.capacity() / RECORD_BYTES);
+            int index = 0;
+            for (int group; index < limit && (group = validGroup(buffer, index, limit)) > 0; index += group) {
+                for (int n = index; n < index + group; n++) {
+                    int offset = n * RECORD_BYTES;
+                    lastHistoryId = Math.max(lastHistoryId, buffer.getLong(offset));
+                    if (firstSeq + n >= snapshotSeq)
+                        balances.put(buffer.getLong(offset + 8), buffer.getLong(offset + 24), buffer.getLong(offset + 32));
+                }
+            }
+            seq = firstSeq + index;
+            if (last) {
+                // 마지막으로 유효한 레코드 뒤는 기록이 끊긴 부분이므로 지우고 그 자리부터 이어 씁니다.
+                byte[] zeros = new byte[1 << 16];
+                for (int offset = index * RECORD_BYTES; offset < buffer.capacity(); offset += zeros.length)
+                    buffer.put(offset, zeros, 0, Math.min(zeros.length, buffer.capacity() - offset));
+                current = new Segment(firstSeq, buffer);
+            }
+        }
+        if (current == null)
+            current = new Segment(seq, map(segmentPath(seq), FileChannel.MapMode.READ_WRITE));
+        nextSeq = seq;
+        durableSeq = seq;
+        log.info("포인트 저널 복구: 스냅샷 번호={}, 다음 번호={}, 마지막 이력 id={}", snapshotSeq, seq, lastHistoryId);
+    }
+
+    /// 유효한 최신 스냅샷을 읽어 잔액에 채우고 그 번호를 반환합니다. 없으면 0
+    private long loadLatestSnapshot() throws IOException {
+        List<Path> snapshots = list("snapshot-", ".snap");
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path file = snapshots.get(i);
+            long entries = (Files.size(file) - SNAPSHOT_HEADER_BYTES - SNAPSHOT_FOOTER_BYTES) / 24;
+            CRC32 checksum = new CRC32();
+            try (DataInputStream in = new DataInputStream(
+                    new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16), checksum))) {
+                if (entries < 0 || in.readLong() != SNAPSHOT_MAGIC)
+                    continue;
+                long seq = in.readLong();
+                long historyId = in.readLong();
+                PackedBalanceStore loaded = new PackedBalanceStore(
+                        PointProperties.defaults().toBuilder().store(new PointProperties.Store("packed", (int) Math.min(entries, 1 << 30))).build());
+                for (long n = 0; n < entries; n++)
+                    loaded.put(in.readLong(), in.readLong(), in.readLong());
+                long count = in.readLong();
+                long expected = checksum.getValue();
+                if (count != entries || in.readLong() != expected) {
+                    log.warn("손상된 스냅샷을 건너뜁니다: {}", file);
+                    continue;
+                }
+                loaded.forEach(balances::put);
+                lastHistoryId = historyId;
+                return seq;
+            } catch (IOException e) {
+                log.warn("스냅샷을 읽을 수 없어 건너뜁니다: {}", file, e);
+            }
+        }
+        return 0;
+    }
+
+    /// 현재 세그먼트를 디스크에 반영하고, 반영된 레코드 수를 반환합니다.
+    private long force() {
+        Segment segment;
+        long upTo;
+        appendLock.lock();
+        try {
+            segment = current;
+            upTo = nextSeq;
+        } finally {
+            appendLock.unlock();
+        }
+        segment.buffer.force();
+        return upTo;
+    }
+
+    /// 세그먼트가 가득 차면 디스크에 반영하고 다음 세그먼트를 새로 만듭니다. (appendLock 안에서 호출)
+    private void roll(long seq) {
+        current.buffer.force();
+        try {
+            current = new Segment(seq, map(segmentPath(seq), FileChannel.MapMode.READ_WRITE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트를 만들 수 없습니다.", e);
+        }
+    }
+
+    private MappedByteBuffer map(Path file, FileChannel.MapMode mode) throws IOException {
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return channel.map(mode, 0, channel.size());
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(mode, 0, (long) segmentRecords * RECORD_BYTES);
+        }
+    }
+
+    /// index 에서 시작하는 묶음의 레코드 수. 묶음의 레코드가 limit 안에 모두 온전히 있지 않으면 0
+    private int validGroup(ByteBuffer buffer, int index, int limit) {
+        if (!isValid(buffer, index))
+            return 0;
+        int group = 1 + buffer.get(index * RECORD_BYTES + REMAINING_OFFSET);
+        if (index + group > limit)
+            return 0;
+        for (int n = index + 1; n < index + group; n++)
+            if (!isValid(buffer, n) || buffer.get(n * RECORD_BYTES + REMAINING_OFFSET) != index + group - 1 - n)
+                return 0;
+        return group;
+    }
+
+    private boolean isValid(ByteBuffer buffer, int index) {
+        int offset = index * RECORD_BYTES;
+        byte type = buffer.get(offset + 40);
+        if (type < 0 || type >= TYPES.length)
+            return false;
+        CRC32 check = new CRC32();
+        check.update(buffer.slice(offset, CRC_OFFSET));
+        return buffer.getInt(offset + CRC_OFFSET) == (int) check.getValue();
+    }
+
+    private Path segmentPath(long firstSeq) {
+        return directory.resolve(String.format("journal-%020d.log", firstSeq));
+    }
+
+    /// 번호 순으로 정렬된 파일 목록 (파일 이름의 번호를 0으로 채워 두었으므로 이름순 = 번호순)
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long number(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private record Segment(long firstSeq, MappedByteBuffer buffer) {
+    }
+
+    public interface BalanceVisitor {
+        void visit(long userId, long point, long updateMillis);
+    }
+
+    public interface HistoryVisitor {
+        void visit(PointHistory pointHistory);
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Arrays;
+
+/**
+ * 한 유저의 이력을 행(PointHistory 객체) 대신 원시 타입 열(column) 묶음으로 보관합니다.
+ * id, amount, updateMillis 는 long[], type 은 byte[] 열에 담고, 열은 CHUNK_ROWS 행 단위 청크로 나눕니다.
+ * 행마다 객체 헤더와 참조, 리스트 슬롯이 없으므로 이력 한 건은 25바이트(+ 청크당 고정 비용)만 차지하고,
+ * 청크 단위로 늘리므로 이력이 많은 유저도 큰 배열 전체를 복사하지 않습니다.
+ * userId 는 유저별로 따로 보관하는 구조이므로 열로 두지 않습니다.
+ * PointHistory 는 조회 결과를 돌려줄 때(row)만 만듭니다.
+ *
+ * 동기화하지 않습니다. (PointHistoryRepository.UserHistories 의 읽기/쓰기 락 안에서만 사용)
+ */
+final class PointHistoryColumns {
+
+    static final int CHUNK_SHIFT = 10;
+    static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+    // 이력이 몇 건 없는 유저가 대부분이므로 첫 청크는 작게 시작해 CHUNK_ROWS 까지 두 배씩 늘립니다.
+    private static final int FIRST_CHUNK_ROWS = 4;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private Chunk[] chunks = new Chunk[1];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long id(int row) {
+        return chunks[row >>> CHUNK_SHIFT].ids[row & CHUNK_MASK];
+    }
+
+    long updateMillis(int row) {
+        return chunks[row >>> CHUNK_SHIFT].millis[row & CHUNK_MASK];
+    }
+
+    /// row 번째 이력을 PointHistory 로 만듭니다.
+    PointHistory row(long userId, int row) {
+        Chunk chunk = chunks[row >>> CHUNK_SHIFT];
+        int offset = row & CHUNK_MASK;
+        return new PointHistory(chunk.ids[offset], userId, chunk.amounts[offset], TYPES[chunk.types[offset]], chunk.millis[offset]);
+    }
+
+    /// index 위치에 이력을 넣습니다. 뒤쪽 행은 한 칸씩 밀립니다. (끝에 붙이는 경우가 대부분)
+    void insert(int index, PointHistory pointHistory) {
+        ensureCapacity(size + 1);
+        for (int row = size; row > index; row--)
+            copy(row - 1, row);
+        set(index, pointHistory.id(), pointHistory.amount(), (byte) pointHistory.type().ordinal(), pointHistory.updateMillis());
+        size++;
+    }
+
+    private void copy(int from, int to) {
+        Chunk source = chunks[from >>> CHUNK_SHIFT];
+        int offset = from & CHUNK_MASK;
+        set(to, source.ids[offset], source.amounts[offset], source.types[offset], source.millis[offset]);
+    }
+
+    private void set(int row, long id, long amount, byte type, long millis) {
+        Chunk chunk = chunks[row >>> CHUNK_SHIFT];
+        int offset = row & CHUNK_MASK;
+        chunk.ids[offset] = id;
+        chunk.amounts[offset] = amount;
+        chunk.types[offset] = type;
+        chunk.millis[offset] = millis;
+    }
+
+    /// rows 행을 담을 수 있도록 마지막 청크를 만들거나 늘립니다.
+    private void ensureCapacity(int rows) {
+        int last = (rows - 1) >>> CHUNK_SHIFT;
+        if (last >= chunks.length)
+            chunks = Arrays.copyOf(chunks, Math.max(last + 1, chunks.length * 2));
+        Chunk chunk = chunks[last];
+        int needed = ((rows - 1) & CHUNK_MASK) + 1;
+        if (chunk == null)
+            chunks[last] = new Chunk(last == 0 ? Math.max(FIRST_CHUNK_ROWS, needed) : CHUNK_ROWS);
+        else if (chunk.types.length < needed)
+            chunk.grow(Math.min(CHUNK_ROWS, Math.max(needed, chunk.types.length * 2)));
+    }
+
+    private static final class Chunk {
+        private long[] ids;
+        private long[] amounts;
+        private long[] millis;
+        private byte[] types;
+
+        private Chunk(int capacity) {
+            this.ids = new long[capacity];
+            this.amounts = new long[capacity];
+            this.millis = new long[capacity];
+            this.types = new byte[capacity];
+        }
+
+        private void grow(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            millis = Arrays.copyOf(millis, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+    }
+}
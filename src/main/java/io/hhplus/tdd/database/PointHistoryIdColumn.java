@@ -0,0 +1,71 @@
+package io.hhplus.tdd.database;
+
+import java.util.Arrays;
+
+/**
+ * 전체 이력의 id → (userId, updateMillis) 열입니다. (내보내기용)
+ * 이력 id 는 저널이 빈틈없이 이어서 발급하므로 id 를 그대로 위치로 쓰고, CHUNK_ROWS 단위 청크로 나눠 필요한 청크만 만듭니다.
+ * 이력 한 건에 16바이트만 쓰고, 행 내용은 유저별 인덱스에서 (updateMillis, id) 로 찾습니다.
+ * 복구하지 않은 이전 실행의 이력처럼 기록된 적 없는 id 는 비어 있습니다.
+ *
+ * 쓰기는 저널이 id 를 발급한 락 안(또는 기동 시 복구)에서만 합니다.
+ * 읽는 쪽은 lastAppendedId 를 같은 락으로 읽은 뒤 그 이하의 id 만 읽으므로, 청크 목록만 volatile 로 공개합니다.
+ */
+final class PointHistoryIdColumn {
+
+    static final int CHUNK_SHIFT = 16;
+    static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+    // 기록된 적 없는 id 의 updateMillis
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    private volatile Chunk[] chunks = new Chunk[1];
+
+    void set(long id, long userId, long updateMillis) {
+        int index = (int) (id >>> CHUNK_SHIFT);
+        Chunk[] current = chunks;
+        if (index >= current.length)
+            current = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+        if (current[index] == null)
+            current[index] = new Chunk();
+        Chunk chunk = current[index];
+        int offset = (int) (id & CHUNK_MASK);
+        chunk.userIds[offset] = userId;
+        chunk.millis[offset] = updateMillis;
+        chunks = current;
+    }
+
+    /// id 가 기록되어 있는지
+    boolean contains(long id) {
+        Chunk chunk = chunk(id);
+        return chunk != null && chunk.millis[(int) (id & CHUNK_MASK)] != ABSENT;
+    }
+
+    long userId(long id) {
+        return chunk(id).userIds[(int) (id & CHUNK_MASK)];
+    }
+
+    long updateMillis(long id) {
+        return chunk(id).millis[(int) (id & CHUNK_MASK)];
+    }
+
+    /// id 가 속한 청크가 통째로 비어 있으면 그 청크의 마지막 id, 아니면 id 를 그대로 반환합니다. (빈 구간 건너뛰기용)
+    long lastAbsentInChunk(long id) {
+        return chunk(id) == null ? id | CHUNK_MASK : id;
+    }
+
+    private Chunk chunk(long id) {
+        Chunk[] current = chunks;
+        int index = (int) (id >>> CHUNK_SHIFT);
+        return index < current.length ? current[index] : null;
+    }
+
+    private static final class Chunk {
+        private final long[] userIds = new long[CHUNK_ROWS];
+        private final long[] millis = new long[CHUNK_ROWS];
+
+        private Chunk() {
+            Arrays.fill(millis, ABSENT);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * PointHistoryTable 쓰기를 유저 락 밖으로 빼내기 위한 단일 작성자(single-writer) 저널입니다.
+ * append 는 큐에 이력을 넣기만 하고, 전용 스레드 하나가 큐에 쌓인 이력을 묶음으로 꺼내 순서대로 테이블에 기록합니다.
+ * (테이블은 스레드 안전하지 않고 insert 순서대로 id 를 매기므로 작성자는 하나만 둡니다.)
+ *
+ * 테이블은 insert 순서대로 id 를 1부터 매기므로, 이 저널이 테이블의 유일한 작성자라면
+ * 큐에 넣는 순서대로 id 를 미리 정할 수 있습니다. 덕분에 테이블에 기록되기 전에도 완성된 PointHistory 를 돌려줄 수 있습니다.
+ *
+ * append 에 넘긴 onAppended 는 id 를 발급한 락 안에서 호출하므로, 이를 통해 인덱스에 넣으면
+ * 인덱스에도 id 순서대로 들어가고 lastAppendedId 이하의 이력은 모두 인덱스에 들어 있습니다.
+ *
+ * append 는 유저 락을 잡은 채 호출되므로 절대 기다리지 않습니다. 대신 잔액을 바꾸기 전에 hasCapacity 로
+ * 밀린 이력이 journalCapacity 를 넘지 않는지 확인해 새 요청을 거절합니다. (확인과 append 사이에 들어온 요청만큼은 넘칠 수 있음)
+ */
+@Component
+public class PointHistoryJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryJournal.class);
+    // 작성자 스레드가 한 번에 꺼내는 최대 이력 수
+    private static final int DRAIN_BATCH = 256;
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointMetrics pointMetrics;
+    private final int capacity;
+    private final Duration flushTimeout;
+    private final BlockingQueue<PointHistory> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    // append 를 받는 중인지 (close 에서 가장 먼저 끕니다.)
+    private volatile boolean running = true;
+    // 작성자 스레드 종료 요청 (close 에서 기다린 뒤 켭니다.)
+    private volatile boolean stopped = false;
+
+    // id 발급과 큐 삽입 순서를 일치시키기 위한 락 (안에서 기다리는 일이 없도록 큐는 크기 제한 없이 둡니다.)
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile long lastAppendedId = 0;
+    // 재시작 후 복구된 이력 다음 번호부터 이어서 발급할 때, 테이블이 1부터 다시 매기는 id 와의 차이
+    private volatile long idOffset = 0;
+
+    // 테이블 기록 진행 상황 (flush 대기용)
+    private final ReentrantLock progressLock = new ReentrantLock();
+    private final Condition progressed = progressLock.newCondition();
+    private volatile long lastWrittenId = 0;
+
+    public PointHistoryJournal(PointHistoryTable pointHistoryTable, PointProperties pointProperties, PointMetrics pointMetrics) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointMetrics = pointMetrics;
+        this.capacity = pointProperties.history().journalCapacity();
+        this.flushTimeout = pointProperties.history().flushTimeout();
+        this.writer = new Thread(this::drain, "point-history-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /// 이력을 큐에 넣고, 테이블이 부여할 id 로 완성된 이력을 반환합니다. 기다리지 않습니다.
+    public PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        return append(userId, amount, type, updateMillis, pointHistory -> {
+        });
+    }
+
+    /// append 와 같고, id 를 발급한 락 안에서 onAppended 를 호출합니다. (인덱스 반영용, 짧게 끝나야 합니다.)
+    public PointHistory append(long userId, long amount, TransactionType type, long updateMillis,
+                               Consumer<PointHistory> onAppended) {
+        if (!running)
+            throw new IllegalStateException("이력 저널이 종료되었습니다.");
+        appendLock.lock();
+        try {
+            PointHistory pointHistory = new PointHistory(lastAppendedId + 1, userId, amount, type, updateMillis);
+            queue.offer(pointHistory);
+            lastAppendedId = pointHistory.id();
+            onAppended.accept(pointHistory);
+            return pointHistory;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /// 여러 이력을 연속된 id 로 한 번에 큐에 넣습니다. (이체의 출금/입금 이력처럼 서로 이어진 이력용)
+    /// drafts 의 id 는 무시하고, 첫 이력부터 차례로 lastAppendedId + 1, + 2 ... 를 부여합니다.
+    /// onAppended 는 append 와 같이 id 를 발급한 락 안에서 이력마다 호출합니다.
+    public List<PointHistory> appendAll(List<PointHistory> drafts, Consumer<PointHistory> onAppended) {
+        if (!running)
+            throw new IllegalStateException("이력 저널이 종료되었습니다.");
+        appendLock.lock();
+        try {
+            List<PointHistory> appended = new ArrayList<>(drafts.size());
+            for (PointHistory draft : drafts) {
+                PointHistory pointHistory = new PointHistory(lastAppendedId + 1, draft.userId(), draft.amount(), draft.type(), draft.updateMillis());
+                queue.offer(pointHistory);
+                lastAppendedId = pointHistory.id();
+                onAppended.accept(pointHistory);
+                appended.add(pointHistory);
+            }
+            return appended;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /// 이력 count 건을 더 받아도 밀린 이력이 journalCapacity 를 넘지 않는지 (잔액을 바꾸기 전에 확인용)
+    public boolean hasCapacity(int count) {
+        return pending() + count <= capacity;
+    }
+
+    /// 지금까지 발급한 마지막 id (이 id 이하의 이력은 모두 onAppended 까지 끝났습니다.)
+    public long lastAppendedId() {
+        appendLock.lock();
+        try {
+            return lastAppendedId;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /// 복구된 이력(lastId 까지) 다음 번호부터 id 를 발급합니다. 첫 append 전에만 호출할 수 있습니다.
+    public void resumeAfter(long lastId) {
+        appendLock.lock();
+        try {
+            if (lastAppendedId != idOffset)
+                throw new IllegalStateException("이미 이력이 기록된 저널입니다.");
+            idOffset = lastId;
+            lastAppendedId = lastId;
+            progressLock.lock();
+            try {
+                lastWrittenId = lastId;
+            } finally {
+                progressLock.unlock();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /// 지금까지 append 된 이력이 모두 테이블에 기록될 때까지 point.history.flush-timeout 만큼 기다립니다.
+    /// 시간 안에 모두 기록되었으면 true
+    public boolean flush() {
+        return flush(flushTimeout);
+    }
+
+    /// 지금까지 append 된 이력이 모두 테이블에 기록될 때까지 최대 timeout 만큼 기다립니다.
+    /// 시간 안에 모두 기록되었으면 true
+    public boolean flush(Duration timeout) {
+        long target = lastAppendedId();
+        long remaining = timeout.toNanos();
+        progressLock.lock();
+        try {
+            while (lastWrittenId < target) {
+                if (remaining <= 0)
+                    return false;
+                remaining = progressed.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    /// 남은 이력을 point.history.flush-timeout 동안 기록한 뒤 작성자 스레드를 종료합니다.
+    /// 시간 안에 기록하지 못한 이력은 버리고 그 수를 남깁니다. (파일 저널을 켜 두었다면 재시작 시 그쪽에서 복구됩니다.)
+    @PreDestroy
+    public void close() {
+        running = false;
+        if (!flush())
+            log.warn("이력 저널 종료: {} 안에 테이블에 기록하지 못한 이력 {}건을 버립니다.", flushTimeout, pending());
+        stopped = true;
+        writer.interrupt();
+    }
+
+    /// 아직 테이블에 기록되지 않은 이력 수
+    public int pending() {
+        return (int) (lastAppendedId - lastWrittenId);
+    }
+
+    private void drain() {
+        List<PointHistory> batch = new ArrayList<>(DRAIN_BATCH);
+        while (!stopped) {
+            try {
+                PointHistory first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch, DRAIN_BATCH - 1);
+            for (int i = 0; i < batch.size() && !stopped; i++)
+                write(batch.get(i));
+            batch.clear();
+        }
+    }
+
+    private void write(PointHistory pointHistory) {
+        try {
+            long start = System.nanoTime();
+            PointHistory inserted = pointHistoryTable.insert(
+                    pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+            pointMetrics.recordHistoryInsert(System.nanoTime() - start);
+            if (inserted.id() + idOffset != pointHistory.id())
+                log.warn("이력 id 불일치: 예상={}, 실제={} (저널 외부에서 테이블에 기록한 것으로 보입니다.)",
+                        pointHistory.id(), inserted.id());
+        } catch (RuntimeException e) {
+            log.error("이력 저장 실패: {}", pointHistory, e);
+        } finally {
+            progressLock.lock();
+            try {
+                lastWrittenId = pointHistory.id();
+                progressed.signalAll();
+            } finally {
+                progressLock.unlock();
+            }
+        }
+    }
+}
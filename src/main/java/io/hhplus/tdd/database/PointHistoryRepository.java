@@ -0,0 +1,285 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryCursor;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * PointHistoryTable 앞단의 유저별 이력 인덱스입니다.
+ * 테이블에는 공개된 insert 만 사용하고, 저장된 이력을 유저별로 updateMillis 순서대로 보관합니다.
+ * 조회는 전체 테이블을 훑거나 정렬하지 않고 해당 유저의 이력 수만큼만 비용이 듭니다.
+ * 이력 저장은 반드시 이 Repository 를 거쳐야 인덱스에 반영됩니다.
+ *
+ * 이력을 넣을 때 유저별 충전/사용 합계(PointSummaryAggregate)도 함께 갱신합니다.
+ * 이력은 PointHistory 객체가 아니라 원시 타입 열(PointHistoryColumns)로 보관하고, 조회 결과를 만들 때만 PointHistory 로 꺼냅니다.
+ *
+ * 유저별 버전(이력이 추가될 때마다 1 증가)도 함께 관리하므로, 잔액/이력이 바뀌었는지 테이블 없이 확인할 수 있습니다.
+ *
+ * 테이블 기록은 PointHistoryJournal 이 비동기로 처리하고, 인덱스에는 insert 시점에 바로 반영하므로
+ * 테이블 기록이 끝나기 전에도 자신이 남긴 이력을 바로 조회할 수 있습니다. (read-your-writes)
+ */
+@Component
+@RequiredArgsConstructor
+public class PointHistoryRepository {
+    private final PointHistoryJournal pointHistoryJournal;
+
+    private final ConcurrentHashMap<Long, UserHistories> histories = new ConcurrentHashMap<>();
+    // 내보내기용 id → (userId, updateMillis)
+    private final PointHistoryIdColumn idColumn = new PointHistoryIdColumn();
+
+    /// 인덱스 반영은 저널이 id 를 발급한 락 안에서 하므로, 인덱스에도 id 순서대로 들어갑니다.
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return pointHistoryJournal.append(userId, amount, type, updateMillis, this::index);
+    }
+
+    /// 여러 이력을 연속된 id 로 함께 저장합니다. (이체처럼 서로 이어진 이력)
+    public List<PointHistory> insertAll(List<PointHistory> drafts) {
+        return pointHistoryJournal.appendAll(drafts, this::index);
+    }
+
+    /// 파일 저널에서 복구한 이력을 인덱스에만 넣습니다. (테이블에는 다시 기록하지 않음)
+    public void restore(PointHistory pointHistory) {
+        index(pointHistory);
+    }
+
+    /// 전체 유저의 이력을 id 오름차순으로 하나씩 넘기고, 넘긴 건수를 반환합니다. (afterId 다음 이력부터, 내보내기용)
+    /// 시작할 때까지 발급된 id 까지만 넘깁니다. id 열(PointHistoryIdColumn)을 id 순서로 훑으면서
+    /// 유저 인덱스에서 (updateMillis, id) 로 행을 찾아 한 건씩 만들어 넘기므로, 추가로 쓰는 메모리는 이력 수나 유저 수와 상관없이 일정합니다.
+    public long exportAfter(long afterId, Consumer<PointHistory> action) {
+        // 이 id 이하의 이력은 모두 인덱스와 id 열에 들어 있고, 이후에 들어오는 이력은 모두 이보다 큰 id 를 받습니다.
+        long maxId = pointHistoryJournal.lastAppendedId();
+        long count = 0;
+        for (long id = afterId + 1; id <= maxId; id++) {
+            long skipTo = idColumn.lastAbsentInChunk(id);
+            if (skipTo != id) {
+                id = skipTo;
+                continue;
+            }
+            if (!idColumn.contains(id))
+                continue;
+            // 다른 인스턴스로 옮긴 유저의 이력은 인덱스에서 빠졌으므로 건너뜁니다. (옮겨 간 인스턴스가 새 id 로 내보냄)
+            PointHistory pointHistory = histories.get(idColumn.userId(id)).find(idColumn.updateMillis(id), id);
+            if (pointHistory == null)
+                continue;
+            action.accept(pointHistory);
+            count++;
+        }
+        return count;
+    }
+
+    /// 유저의 이력을 모두 인덱스에서 빼고 오래된 순서((updateMillis, id) 오름차순)로 반환합니다. (클러스터에서 유저를 다른 인스턴스로 옮길 때)
+    /// 테이블에 기록된 이력은 그대로 두고, 버전은 이어서 증가시켜 이 유저의 버전이 이전 값으로 돌아가지 않게 합니다.
+    public List<PointHistory> removeAll(long userId) {
+        UserHistories userHistories = histories.get(userId);
+        if (userHistories == null)
+            return List.of();
+        return userHistories.removeAll();
+    }
+
+    /// 저널이 id 를 발급한 락 안(또는 기동 시 복구)에서만 호출됩니다.
+    private void index(PointHistory pointHistory) {
+        histories.computeIfAbsent(pointHistory.userId(), UserHistories::new).add(pointHistory);
+        idColumn.set(pointHistory.id(), pointHistory.userId(), pointHistory.updateMillis());
+    }
+
+    /// 지금까지 저장한 이력이 모두 테이블에 기록될 때까지 기다립니다. (종료 처리, 테스트용)
+    /// point.history.flush-timeout 안에 모두 기록되었으면 true
+    public boolean flush() {
+        return pointHistoryJournal.flush();
+    }
+
+    /// 이력 count 건을 더 저장해도 테이블 기록이 밀린 이력이 한도를 넘지 않는지
+    public boolean hasCapacity(int count) {
+        return pointHistoryJournal.hasCapacity(count);
+    }
+
+    /// 유저의 이력을 최신순(updateMillis 내림차순)으로 반환
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserHistories userHistories = histories.get(userId);
+        if (userHistories == null)
+            return List.of();
+        return userHistories.latestFirst();
+    }
+
+    /// 유저의 이력을 최신순으로 limit 건 조회
+    /// cursor 가 있으면 그 이력보다 오래된 이력부터, from/to 가 있으면 updateMillis 가 [from, to] 인 이력만 조회합니다.
+    /// 정렬된 이력에서 이진 탐색으로 시작 위치를 찾으므로 비용은 페이지 크기에 비례합니다.
+    public PointHistoryPage selectPageByUserId(long userId, PointHistoryCursor cursor, int limit, Long from, Long to) {
+        UserHistories userHistories = histories.get(userId);
+        if (userHistories == null)
+            return new PointHistoryPage(List.of(), null);
+        return userHistories.page(cursor, limit, from, to);
+    }
+
+    /// 유저의 버전 (이력이 없으면 0)
+    /// 충전/사용/이체는 잔액을 바꾼 뒤 이력을 넣으므로, 버전을 먼저 읽고 잔액/이력을 읽으면 그 버전 이후의 값을 보게 됩니다.
+    public long versionOf(long userId) {
+        UserHistories userHistories = histories.get(userId);
+        return userHistories == null ? 0 : userHistories.version;
+    }
+
+    /// 유저의 충전/사용 요약 (전체 합계 + now 기준 최근 시간/일 단위 버킷)
+    /// 이력 저장 시 미리 합계를 갱신해 두므로 이력 수와 무관하게 일정한 시간에 조회됩니다.
+    public PointSummary selectSummaryByUserId(long userId, long now) {
+        UserHistories userHistories = histories.get(userId);
+        if (userHistories == null)
+            return PointSummary.empty(userId);
+        return userHistories.summary(userId, now);
+    }
+
+    /// 한 유저의 이력을 (updateMillis, id) 오름차순으로 보관
+    /// 이력은 id 순서대로 들어오지만, updateMillis 는 id 발급 전에 정해지므로 (lock-free 충전처럼 유저 락 없이 들어오는 경우)
+    /// id 순서와 updateMillis 순서가 어긋날 수 있습니다. 쓰기와 조회 모두 읽기/쓰기 락으로 보호하고, 넣을 때 (updateMillis, id) 순서로 자리를 찾습니다.
+    private static final class UserHistories {
+        private final long userId;
+        // removeAll 에서 새로 바꿔 끼우므로 final 이 아닙니다. (읽기/쓰기 락 안에서만 접근)
+        private PointHistoryColumns rows = new PointHistoryColumns();
+        private PointSummaryAggregate summary = new PointSummaryAggregate();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // 쓰기 락 안에서만 증가하고, 조회는 락 없이 읽습니다.
+        private volatile long version;
+
+        UserHistories(long userId) {
+            this.userId = userId;
+        }
+
+        void add(PointHistory pointHistory) {
+            lock.writeLock().lock();
+            try {
+                // 대부분 순서대로 들어오므로 끝에 붙이고, 시계가 뒤로 갔거나 id 발급 순서와 어긋난 경우에만 제자리를 찾아 넣습니다.
+                // 커서 조회(firstNotBefore)가 (updateMillis, id) 순서로 이진 탐색하므로 같은 시각이면 id 순서도 지켜야 합니다.
+                int index = rows.size();
+                while (index > 0 && isAfter(index - 1, pointHistory))
+                    index--;
+                rows.insert(index, pointHistory);
+                summary.add(pointHistory);
+                version++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /// row 번째 이력이 pointHistory 보다 (updateMillis, id) 순서로 뒤인지
+        private boolean isAfter(int row, PointHistory pointHistory) {
+            long millis = rows.updateMillis(row);
+            if (millis != pointHistory.updateMillis())
+                return millis > pointHistory.updateMillis();
+            return rows.id(row) > pointHistory.id();
+        }
+
+        List<PointHistory> removeAll() {
+            lock.writeLock().lock();
+            try {
+                List<PointHistory> removed = new ArrayList<>(rows.size());
+                for (int i = 0; i < rows.size(); i++)
+                    removed.add(rows.row(userId, i));
+                rows = new PointHistoryColumns();
+                summary = new PointSummaryAggregate();
+                version++;
+                return removed;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /// (updateMillis, id) 가 같은 이력, 없으면 null (내보내기용, 행 순서가 id 순서와 달라도 이진 탐색으로 찾습니다.)
+        PointHistory find(long updateMillis, long id) {
+            lock.readLock().lock();
+            try {
+                int lo = 0, hi = rows.size();
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    long millis = rows.updateMillis(mid);
+                    if (millis < updateMillis || (millis == updateMillis && rows.id(mid) < id))
+                        lo = mid + 1;
+                    else
+                        hi = mid;
+                }
+                return lo < rows.size() && rows.id(lo) == id ? rows.row(userId, lo) : null;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        PointSummary summary(long userId, long now) {
+            lock.readLock().lock();
+            try {
+                return summary.summary(userId, now);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<PointHistory> latestFirst() {
+            lock.readLock().lock();
+            try {
+                List<PointHistory> result = new ArrayList<>(rows.size());
+                for (int i = rows.size() - 1; i >= 0; i--)
+                    result.add(rows.row(userId, i));
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        PointHistoryPage page(PointHistoryCursor cursor, int limit, Long from, Long to) {
+            lock.readLock().lock();
+            try {
+                // [lo, hi) 구간이 조건을 만족하는 이력이고, 최신순이므로 hi 쪽부터 내려줍니다.
+                int hi = rows.size();
+                if (to != null)
+                    hi = Math.min(hi, firstAfterMillis(to));
+                if (cursor != null)
+                    hi = Math.min(hi, firstNotBefore(cursor));
+                int lo = from != null ? firstAfterMillis(from - 1) : 0;
+
+                int end = Math.max(lo, hi - limit);
+                List<PointHistory> result = new ArrayList<>(Math.max(0, hi - end));
+                for (int i = hi - 1; i >= end; i--)
+                    result.add(rows.row(userId, i));
+                String nextCursor = end > lo
+                        ? new PointHistoryCursor(rows.updateMillis(end), rows.id(end)).encode()
+                        : null;
+                return new PointHistoryPage(result, nextCursor);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /// updateMillis 가 millis 보다 큰 첫 위치
+        private int firstAfterMillis(long millis) {
+            int lo = 0, hi = rows.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (rows.updateMillis(mid) <= millis)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo;
+        }
+
+        /// 커서 위치이거나 커서보다 뒤(최신)인 첫 위치
+        private int firstNotBefore(PointHistoryCursor cursor) {
+            int lo = 0, hi = rows.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cursor.compareTo(rows.updateMillis(mid), rows.id(mid)) > 0)
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 파일 저널(PointEventLog)로부터 잔액과 이력을 되살립니다.
+ * 웹 서버가 요청을 받기 전에(빈 초기화 단계) 실행됩니다.
+ * - 잔액 : 최신 스냅샷 + 그 이후 저널로 복구된 유저별 최신 잔액을 BalanceStore 에 저장
+ * - 이력 : restoreHistory 이면 저널 전체를 읽어 이력 인덱스를 다시 만듭니다.
+ *          복구하지 않더라도 이후 이력 id 는 항상 저널에 기록된 마지막 id 다음부터 이어서 발급합니다. (이전 실행의 id 와 겹치지 않도록)
+ *
+ * 잔액을 유저마다 BalanceStore 에 한 번씩 저장하므로, 저장마다 지연이 있는 UserPointTable(store.type=table)로는
+ * 유저 수만큼 기동이 늦어집니다. 이 경우 요청을 받기 전에 바로 실패시켜 packed 저장소를 쓰도록 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointStateRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(PointStateRecovery.class);
+
+    private final PointEventLog pointEventLog;
+    private final BalanceStore balanceStore;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointHistoryJournal pointHistoryJournal;
+    private final PointProperties pointProperties;
+
+    @PostConstruct
+    public void recover() {
+        if (!pointEventLog.isEnabled())
+            return;
+        if (balanceStore instanceof UserPointTableStore)
+            throw new IllegalStateException("point.durability.enabled 는 point.store.type=packed 와 함께 사용해야 합니다.");
+        if (pointEventLog.size() == 0)
+            return;
+        long start = System.nanoTime();
+        long[] users = new long[1];
+        pointEventLog.forEachBalance((userId, point, updateMillis) -> {
+            balanceStore.insertOrUpdate(userId, point);
+            users[0]++;
+        });
+
+        long[] histories = new long[1];
+        if (pointProperties.durability().restoreHistory()) {
+            pointEventLog.replayHistories(pointHistory -> {
+                pointHistoryRepository.restore(pointHistory);
+                histories[0]++;
+            });
+        }
+        pointHistoryJournal.resumeAfter(pointEventLog.lastHistoryId());
+        log.info("포인트 상태 복구: 유저 {}명, 이력 {}건, {}ms",
+                users[0], histories[0], (System.nanoTime() - start) / 1_000_000);
+    }
+}
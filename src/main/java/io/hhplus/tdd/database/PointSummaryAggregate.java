@@ -0,0 +1,105 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointSummaryBucket;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 유저의 충전/사용 합계 (전체 기간 + 시간/일 단위 버킷)
+ * 이력이 저장될 때마다 갱신하므로 요약 조회는 이력을 다시 훑지 않습니다.
+ * 버킷은 가장 최근 버킷 기준으로 정해진 개수(시간 48개, 일 31개)만 보관해 조회 비용과 메모리가 이력 수와 무관합니다.
+ * 동기화는 호출하는 쪽(PointHistoryRepository 의 유저별 읽기/쓰기 락)에서 처리합니다.
+ */
+final class PointSummaryAggregate {
+    static final long HOUR_MILLIS = 60 * 60 * 1000L;
+    static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+    static final int HOURLY_BUCKETS = 48;
+    static final int DAILY_BUCKETS = 31;
+
+    private final Totals lifetime = new Totals(0);
+    private final Buckets hourly = new Buckets(HOUR_MILLIS, HOURLY_BUCKETS);
+    private final Buckets daily = new Buckets(DAY_MILLIS, DAILY_BUCKETS);
+
+    void add(PointHistory pointHistory) {
+        lifetime.add(pointHistory);
+        hourly.add(pointHistory);
+        daily.add(pointHistory);
+    }
+
+    /// now 기준 보관 범위 안의 버킷만 담아 반환합니다.
+    PointSummary summary(long userId, long now) {
+        return new PointSummary(userId, lifetime.chargeAmount, lifetime.chargeCount, lifetime.useAmount, lifetime.useCount,
+                hourly.recent(now), daily.recent(now));
+    }
+
+    /// 버킷 번호(key) 오름차순으로 보관
+    private static final class Buckets {
+        private final long size;
+        private final int capacity;
+        private final List<Totals> buckets = new ArrayList<>();
+
+        Buckets(long size, int capacity) {
+            this.size = size;
+            this.capacity = capacity;
+        }
+
+        void add(PointHistory pointHistory) {
+            long key = Math.floorDiv(pointHistory.updateMillis(), size);
+            // 대부분 마지막 버킷이거나 새 버킷이므로 뒤에서부터 찾습니다.
+            int index = buckets.size();
+            while (index > 0 && buckets.get(index - 1).key > key)
+                index--;
+            Totals bucket;
+            if (index > 0 && buckets.get(index - 1).key == key) {
+                bucket = buckets.get(index - 1);
+            } else {
+                long newest = buckets.isEmpty() ? key : Math.max(key, buckets.get(buckets.size() - 1).key);
+                if (key <= newest - capacity)
+                    return; // 보관 범위보다 오래된 이력 (전체 합계에만 반영)
+                bucket = new Totals(key);
+                buckets.add(index, bucket);
+            }
+            bucket.add(pointHistory);
+            long oldest = buckets.get(buckets.size() - 1).key - capacity;
+            while (buckets.get(0).key <= oldest)
+                buckets.remove(0);
+        }
+
+        List<PointSummaryBucket> recent(long now) {
+            long oldest = Math.floorDiv(now, size) - capacity;
+            List<PointSummaryBucket> result = new ArrayList<>();
+            for (int i = buckets.size() - 1; i >= 0 && buckets.get(i).key > oldest; i--) {
+                Totals bucket = buckets.get(i);
+                result.add(new PointSummaryBucket(bucket.key * size,
+                        bucket.chargeAmount, bucket.chargeCount, bucket.useAmount, bucket.useCount));
+            }
+            return result;
+        }
+    }
+
+    private static final class Totals {
+        private final long key;
+        private long chargeAmount;
+        private long chargeCount;
+        private long useAmount;
+        private long useCount;
+
+        Totals(long key) {
+            this.key = key;
+        }
+
+        void add(PointHistory pointHistory) {
+            if (pointHistory.type() == TransactionType.CHARGE) {
+                chargeAmount += pointHistory.amount();
+                chargeCount++;
+            } else {
+                useAmount += pointHistory.amount();
+                useCount++;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/// UserPointTable 을 그대로 사용하는 기본 잔액 저장소
+@Component
+@ConditionalOnProperty(prefix = "point.store", name = "type", havingValue = "table", matchIfMissing = true)
+@RequiredArgsConstructor
+public class UserPointTableStore implements BalanceStore {
+    private final UserPointTable userPointTable;
+
+    @Override
+    public UserPoint selectById(long id) {
+        return userPointTable.selectById(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return userPointTable.insertOrUpdate(id, amount);
+    }
+}
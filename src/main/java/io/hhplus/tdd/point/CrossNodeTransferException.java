@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/// 클러스터 모드에서 받는 유저를 다른 인스턴스가 맡고 있어 이체할 수 없는 경우 (501 로 응답)
+/// 이체는 두 유저의 락을 한 인스턴스에서 함께 잡아야 하므로, 인스턴스를 가로지르는 이체는 지원하지 않습니다.
+/// 요청이 잘못된 것은 아니므로 같은 인스턴스가 맡은 유저 사이에서는 그대로 이체할 수 있습니다.
+public class CrossNodeTransferException extends PointException {
+
+    public CrossNodeTransferException() {
+        super("다른 인스턴스가 맡은 유저에게는 이체할 수 없습니다.");
+    }
+}
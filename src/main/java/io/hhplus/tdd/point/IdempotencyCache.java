@@ -0,0 +1,151 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.timeProvider.TimeProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별 충전/사용 결과 보관소 (크기 제한 + 만료)
+ * 클라이언트가 타임아웃 후 같은 키로 재시도하면 PointService 를 다시 거치지 않고 보관된 UserPoint 를 돌려줍니다.
+ * 첫 요청이 아직 처리 중이면 재시도는 새로 처리하지 않고 그 결과를 기다립니다.
+ * 실패한 요청은 보관하지 않으므로(기다리던 재시도에는 같은 예외를 전달) 이후 재시도는 다시 처리됩니다.
+ * 처리 중인 키는 만료/방출하지 않습니다. 보관 건수가 가득 찼는데 모두 처리 중이면 새 키는 처리하지 않고 429 로 거절합니다.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final TimeProvider timeProvider;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 삽입 순서 = 만료 순서이므로 앞에서부터 만료/방출합니다.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyCache(TimeProvider timeProvider, PointProperties pointProperties) {
+        this.timeProvider = timeProvider;
+        this.maxSize = Math.max(1, pointProperties.idempotency().maxSize());
+        this.ttlMillis = pointProperties.idempotency().ttl().toMillis();
+    }
+
+    /// 키가 없으면 그대로 처리하고, 있으면 같은 키의 결과를 재사용합니다.
+    /// 같은 키로 다른 요청(유저, 종류, 금액)을 보내면 IdempotencyKeyReusedException 으로 거절합니다.
+    public UserPoint execute(String key, PointOperation operation, Supplier<UserPoint> action) {
+        if (key == null || key.isBlank())
+            return action.get();
+        try {
+            return executeAsync(key, operation, () -> CompletableFuture.completedFuture(action.get())).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /// execute 의 비동기 버전 (메일박스 모드처럼 결과가 나중에 완료되는 처리용)
+    /// 첫 요청의 결과가 완료되기 전에 들어온 재시도는 새로 처리하지 않고 같은 결과를 기다립니다.
+    public CompletableFuture<UserPoint> executeAsync(String key, PointOperation operation,
+                                                    Supplier<CompletableFuture<UserPoint>> action) {
+        if (key == null || key.isBlank())
+            return action.get();
+
+        Entry entry;
+        boolean owner = false;
+        lock.lock();
+        try {
+            long now = timeProvider.currentTimeMillis();
+            expire(now);
+            entry = entries.get(key);
+            if (entry == null) {
+                if (entries.size() >= maxSize && !evictCompleted())
+                    return CompletableFuture.failedFuture(
+                            new PointOverloadedException("처리 중인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
+                entry = new Entry(operation, now + ttlMillis);
+                entries.put(key, entry);
+                owner = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!entry.operation.equals(operation))
+            return CompletableFuture.failedFuture(new IdempotencyKeyReusedException());
+        if (owner)
+            run(key, entry, action);
+        // 보관 중인 future 를 호출한 쪽에서 완료시키지 못하도록 사본을 돌려줍니다.
+        return entry.result.copy();
+    }
+
+    /// 보관 중인 키의 수 (처리 중인 키 포함)
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run(String key, Entry entry, Supplier<CompletableFuture<UserPoint>> action) {
+        CompletableFuture<UserPoint> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((userPoint, error) -> {
+            if (error == null) {
+                entry.result.complete(userPoint);
+                return;
+            }
+            // 실패한 요청은 보관하지 않으므로, 결과를 알리기 전에 먼저 지워 이후 재시도가 다시 처리되도록 합니다.
+            lock.lock();
+            try {
+                entries.remove(key, entry);
+            } finally {
+                lock.unlock();
+            }
+            entry.result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        });
+    }
+
+    /// 락을 잡은 상태에서 호출합니다. 처리 중인 키는 만료되어도 남겨 둡니다. (재시도가 다시 처리하지 않도록)
+    private void expire(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt > now)
+                return;
+            if (entry.result.isDone())
+                iterator.remove();
+        }
+    }
+
+    /// 락을 잡은 상태에서 호출합니다. 처리가 끝난 가장 오래된 키 하나를 방출하고, 모두 처리 중이면 false
+    private boolean evictCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().result.isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        private final PointOperation operation;
+        private final long expiresAt;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private Entry(PointOperation operation, long expiresAt) {
+            this.operation = operation;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/// 이미 사용한 Idempotency-Key 로 다른 요청(유저, 종류, 금액)을 보낸 경우 (422 로 응답)
+/// 처음 요청의 결과는 그대로 보관되며, 새 요청은 새 키로 다시 보내야 합니다.
+public class IdempotencyKeyReusedException extends PointException {
+
+    public IdempotencyKeyReusedException() {
+        super("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/// 사용/이체 금액이 현재 잔액보다 커서 거절된 경우 (409 로 응답)
+/// 잔액은 바뀌지 않았으므로, 충전 후 같은 요청을 다시 보낼 수 있습니다.
+public class InsufficientBalanceException extends PointException {
+
+    public InsufficientBalanceException() {
+        super("잔고 부족");
+    }
+}
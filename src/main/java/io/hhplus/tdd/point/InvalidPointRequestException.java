@@ -0,0 +1,9 @@
+package io.hhplus.tdd.point;
+
+/// 음수 금액, 자기 자신에게 이체, 잘못된 커서처럼 요청 자체가 잘못된 경우 (400 으로 응답)
+public class InvalidPointRequestException extends PointException {
+
+    public InvalidPointRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/// combining 모드에서 유저 락을 기다리는 요청
+/// result 는 유저 락 안에서 채워지므로 락을 잡았다 놓은 뒤에는 항상 보입니다.
+final class PendingCommand {
+    final PointCommand command;
+    PointResult result;
+
+    PendingCommand(PointCommand command) {
+        this.command = command;
+    }
+}
@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 유저에 대한 충전/사용 요청을 한 번에 처리합니다.
+ * 요청을 유저별로 묶어 유저마다 락을 한 번만 잡고(조회/저장도 한 번), 서로 다른 유저의 묶음은 병렬로 처리합니다.
+ * 결과는 요청 순서 그대로 건별로 돌려주며, 잔고 부족 같은 실패도 해당 건에만 기록합니다.
+ */
+@Service
+public class PointBatchService {
+
+    private final PointService pointService;
+    private final PointProperties pointProperties;
+    private final ExecutorService executor;
+
+    public PointBatchService(PointService pointService, PointProperties pointProperties) {
+        this.pointService = pointService;
+        this.pointProperties = pointProperties;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(pointProperties.batch().parallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "point-batch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public List<PointOperationResult> execute(List<PointOperation> operations) {
+        int maxSize = pointProperties.batch().maxSize();
+        if (operations.size() > maxSize)
+            throw new InvalidPointRequestException("일괄 처리는 최대 " + maxSize + "건까지 가능합니다.");
+
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        // 유저 ID => 해당 유저 요청의 위치(요청 순서 유지)
+        Map<Long, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            PointOperation operation = operations.get(i);
+            String invalid = validate(operation);
+            if (invalid != null)
+                results[i] = PointOperationResult.failure(operation, invalid);
+            else
+                groups.computeIfAbsent(operation.userId(), k -> new ArrayList<>()).add(i);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+        groups.forEach((userId, indexes) -> futures.add(
+                CompletableFuture.runAsync(() -> executeGroup(userId, indexes, operations, results), executor)));
+        // join 으로 각 묶음의 결과 기록이 이 스레드에 보이게 됩니다.
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return Arrays.asList(results);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void executeGroup(long userId, List<Integer> indexes, List<PointOperation> operations, PointOperationResult[] results) {
+        List<PointCommand> commands = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            PointOperation operation = operations.get(index);
+            commands.add(new PointCommand(operation.type(), operation.amount()));
+        }
+        try {
+            List<PointResult> groupResults = pointService.executeAll(userId, commands);
+            for (int i = 0; i < indexes.size(); i++)
+                results[indexes.get(i)] = PointOperationResult.of(operations.get(indexes.get(i)), groupResults.get(i));
+        } catch (RuntimeException e) {
+            for (int index : indexes)
+                results[index] = PointOperationResult.failure(operations.get(index), e.getMessage());
+        }
+    }
+
+    private static String validate(PointOperation operation) {
+        if (operation.type() == null)
+            return "거래 종류가 없습니다.";
+        if (operation.amount() < 0)
+            return operation.type() == TransactionType.CHARGE ? "음수로 충전은 불가능합니다." : "음수로 사용은 불가능합니다.";
+        return null;
+    }
+}
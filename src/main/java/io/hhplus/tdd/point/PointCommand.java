@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+/// 한 유저에게 적용할 충전/사용 요청 한 건
+public record PointCommand(
+        TransactionType type,
+        long amount
+) {
+
+    public static PointCommand charge(long amount) {
+        return new PointCommand(TransactionType.CHARGE, amount);
+    }
+
+    public static PointCommand use(long amount) {
+        return new PointCommand(TransactionType.USE, amount);
+    }
+}
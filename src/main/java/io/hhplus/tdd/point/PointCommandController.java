@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+/// 포인트 충전/사용 (기본 모드)
+/// 요청 스레드에서 PointService 를 바로 호출하고 결과를 그대로 응답합니다.
+/// 메일박스 모드(point.mailbox.enabled)에서는 PointMailboxController 가 대신 처리합니다.
+@RestController
+@RequestMapping("/point")
+@ConditionalOnProperty(prefix = "point.mailbox", name = "enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PointCommandController {
+
+    private final PointService pointService;
+    private final IdempotencyCache idempotencyCache;
+
+    /**
+     * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키의 재시도는 다시 충전하지 않고 처음 결과를 돌려줍니다.
+     */
+    @PatchMapping("{id}/charge")
+    public UserPoint charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return idempotencyCache.execute(idempotencyKey, new PointOperation(id, TransactionType.CHARGE, amount),
+                () -> pointService.charge(id, amount));
+    }
+
+    /**
+     * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키의 재시도는 다시 사용하지 않고 처음 결과를 돌려줍니다.
+     */
+    @PatchMapping("{id}/use")
+    public UserPoint use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return idempotencyCache.execute(idempotencyKey, new PointOperation(id, TransactionType.USE, amount),
+                () -> pointService.use(id, amount));
+    }
+}
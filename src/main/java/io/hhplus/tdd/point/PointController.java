@@ -1,8 +1,15 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.cluster.ClusterHandoff;
+import io.hhplus.tdd.cluster.ClusterMembership;
+import io.hhplus.tdd.cluster.PeerClient;
+import io.hhplus.tdd.cluster.PointBatchRouter;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,48 +20,117 @@ import java.util.List;
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    // 충전/사용은 메일박스 모드에 따라 PointCommandController(동기) 또는 PointMailboxController(비동기)가 처리합니다.
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    // 재시작하면 버전이 0 부터 다시 시작하므로, 이전 실행에서 내려준 ETag 와 겹치지 않도록 시작 시각을 함께 넣습니다.
+    private static final String ETAG_EPOCH = Long.toString(System.currentTimeMillis(), 36);
 
     private final PointService pointService;
+    private final PointBatchRouter pointBatchRouter;
+    private final ClusterMembership clusterMembership;
+    private final ClusterHandoff clusterHandoff;
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     * 유저의 버전을 ETag 로 내려주고, If-None-Match 가 현재 버전과 같으면 테이블을 조회하지 않고 304 로 응답합니다.
      */
     @GetMapping("{id}")
-    public UserPoint point(
-            @PathVariable long id
+    public ResponseEntity<UserPoint> point(
+            @PathVariable long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        return pointService.getUserPoint(id);
+        String etag = etag(pointService.getUserVersion(id));
+        if (notModified(ifNoneMatch, etag))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        return ResponseEntity.ok().eTag(etag).body(pointService.getUserPoint(id));
     }
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * 잔액 조회와 같은 버전을 ETag 로 사용하며, 바뀐 것이 없으면 304 로 응답합니다.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
-            @PathVariable long id
+    public ResponseEntity<List<PointHistory>> history(
+            @PathVariable long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        return pointService.getUserPointHistories(id);
+        String etag = etag(pointService.getUserVersion(id));
+        if (notModified(ifNoneMatch, etag))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        return ResponseEntity.ok().eTag(etag).body(pointService.getUserPointHistories(id));
     }
 
     /**
-     * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * 특정 유저의 포인트 충전/이용 내역을 최신순으로 한 페이지씩 조회합니다.
+     * 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 조회하고, from/to 로 updateMillis 범위를 제한할 수 있습니다.
      */
-    @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    @GetMapping("{id}/histories/page")
+    public PointHistoryPage historyPage(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        return pointService.getUserPointHistoryPage(id, cursor, limit, from, to);
+    }
+
+    /**
+     * 특정 유저의 충전/사용 합계와 건수를 조회합니다.
+     * 전체 기간 합계와 최근 48시간(시간 단위), 31일(일 단위) 버킷을 최신순으로 반환합니다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
+            @PathVariable long id
     ) {
-        return pointService.charge(id,amount);
+        return pointService.getUserPointSummary(id);
     }
 
     /**
-     * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * 특정 유저의 포인트를 다른 유저에게 이체합니다.
+     * 출금과 입금을 한 번에 처리하므로 중간에 포인트 합계가 어긋나는 순간이 없습니다.
+     * 클러스터 모드에서는 요청이 보내는 유저의 인스턴스로 전달되며, 받는 유저도 같은 인스턴스가 맡고 있어야 합니다. (아니면 501)
      */
-    @PatchMapping("{id}/use")
-    public UserPoint use(
+    @PostMapping("{id}/transfer")
+    public PointTransfer transfer(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody PointTransferRequest request
     ) {
-        return pointService.use(id,amount);
+        if (!clusterMembership.isLocal(request.toUserId()))
+            throw new CrossNodeTransferException();
+        // 받는 유저가 이 인스턴스로 옮겨 오는 중이면 상태를 넘겨받은 뒤에 이체합니다.
+        clusterHandoff.ensureArrived(clusterMembership.version(), request.toUserId());
+        return pointService.transfer(id, request.toUserId(), request.amount());
+    }
+
+    /**
+     * 여러 유저의 포인트 충전/사용을 한 번에 처리합니다.
+     * 결과는 요청 순서대로 건별 성공/실패가 담겨 반환됩니다.
+     * 클러스터 모드에서는 다른 인스턴스가 맡은 유저의 요청을 그 인스턴스로 나누어 보냅니다.
+     */
+    @PostMapping("batch")
+    public List<PointOperationResult> batch(
+            @RequestBody List<PointOperation> operations,
+            @RequestHeader(value = PeerClient.FORWARDED_BY, required = false) String forwardedBy
+    ) {
+        return pointBatchRouter.execute(operations, forwardedBy != null);
+    }
+
+    private static String etag(long version) {
+        return "\"" + ETAG_EPOCH + "." + version + "\"";
+    }
+
+    /// If-None-Match 의 태그 중 하나라도 현재 ETag 와 같으면 변경 없음 (약한 비교이므로 W/ 는 무시)
+    private static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null)
+            return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/"))
+                candidate = candidate.substring(2);
+            if (candidate.equals("*") || candidate.equals(etag))
+                return true;
+        }
+        return false;
     }
 }
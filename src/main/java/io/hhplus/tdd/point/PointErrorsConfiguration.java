@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/// point.errors 설정 적용
+@Configuration
+public class PointErrorsConfiguration {
+
+    /// 도메인 예외(PointException)의 stack trace 기록 여부를 point.errors.stack-trace 로 맞춥니다.
+    /// 요청을 받기 전(빈 초기화 단계)에 적용되므로, 이후 생성되는 모든 도메인 예외에 같은 설정이 쓰입니다.
+    @Bean
+    InitializingBean pointExceptionStackTrace(PointProperties pointProperties) {
+        return () -> PointException.setStackTraceEnabled(pointProperties.errors().stackTrace());
+    }
+}
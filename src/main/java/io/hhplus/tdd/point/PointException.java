@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+/// 포인트 요청을 도메인 규칙에 따라 거절할 때 던지는 예외의 공통 부모입니다.
+/// 잔고 부족이나 잘못된 금액처럼 예상된 경로로 자주 발생하는 예외는 stack trace 가 필요 없으므로,
+/// point.errors.stack-trace 가 꺼져 있으면(기본값) stack trace 를 채우지 않아 거절 비용을 줄입니다.
+public abstract class PointException extends RuntimeException {
+    private static volatile boolean stackTraceEnabled = false;
+
+    protected PointException(String message) {
+        super(message, null, false, stackTraceEnabled);
+    }
+
+    /// 이후 생성되는 예외의 stack trace 기록 여부 (애플리케이션 시작 시 point.errors.stack-trace 로 설정)
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+}
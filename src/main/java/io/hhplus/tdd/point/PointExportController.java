@@ -0,0 +1,76 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/// 관리자용 포인트 이력 내보내기
+@RestController
+@RequestMapping("/admin/point")
+@RequiredArgsConstructor
+public class PointExportController {
+
+    // 응답 쓰기 버퍼, 이만큼 모일 때마다 chunk 하나로 내보냅니다.
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PointService pointService;
+
+    /**
+     * 전체 유저의 포인트 이력을 id 순서대로 NDJSON(한 줄에 이력 하나)으로 내보냅니다.
+     * after 를 넘기면 그 id 다음 이력부터 내보내므로, 마지막으로 받은 id 로 이어서 받을 수 있습니다.
+     * 요청 시점까지 저장된 이력까지만 한 번에 훑으며, 테이블은 조회하지 않습니다.
+     *
+     * 응답 길이를 정하지 않고 버퍼가 찰 때마다 chunked 로 흘려보내므로 이력 수와 상관없이 메모리를 일정하게 씁니다.
+     * 클라이언트가 느리게 읽으면 쓰기가 막혀 그만큼 천천히 읽습니다. (backpressure)
+     * 오래 걸릴 수 있으므로 비동기 요청 시간 제한을 받지 않도록 요청 스레드에서 직접 씁니다.
+     * 클러스터 모드에서는 이 인스턴스가 맡은 유저의 이력만 내보냅니다.
+     */
+    @GetMapping("histories/export")
+    public void exportHistories(
+            @RequestParam(defaultValue = "0") long after,
+            HttpServletResponse response
+    ) throws IOException {
+        if (after < 0)
+            throw new InvalidPointRequestException("after 는 0 이상이어야 합니다.");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+        StringBuilder line = new StringBuilder(128);
+        try {
+            pointService.exportPointHistories(after, pointHistory -> {
+                line.setLength(0);
+                appendJson(line, pointHistory).append('\n');
+                try {
+                    writer.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 클라이언트가 연결을 끊은 경우 등
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /// PointHistory 를 API 응답과 같은 필드 이름의 JSON 객체로 씁니다. (모두 숫자/enum 이므로 이스케이프가 필요 없음)
+    static StringBuilder appendJson(StringBuilder out, PointHistory pointHistory) {
+        return out.append("{\"id\":").append(pointHistory.id())
+                .append(",\"userId\":").append(pointHistory.userId())
+                .append(",\"amount\":").append(pointHistory.amount())
+                .append(",\"type\":\"").append(pointHistory.type().name())
+                .append("\",\"updateMillis\":").append(pointHistory.updateMillis())
+                .append('}');
+    }
+}
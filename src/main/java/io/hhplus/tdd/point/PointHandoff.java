@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/// 클러스터에서 다른 인스턴스로 옮기는 유저의 상태
+/// held 가 false 면 이 인스턴스가 유저의 상태를 갖고 있지 않다는 뜻이며, point/histories 는 비어 있습니다.
+/// histories 는 오래된 순서((updateMillis, id) 오름차순)이고, point 는 마지막 이력까지 반영된 잔액입니다.
+public record PointHandoff(
+        boolean held,
+        long point,
+        List<PointHistory> histories
+) {
+
+    public static PointHandoff notHeld() {
+        return new PointHandoff(false, 0, List.of());
+    }
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point;
+
+/// 이력 페이지 조회용 커서
+/// 유저별 이력은 (updateMillis, id) 순서로 정렬되어 있으므로, 마지막으로 내려준 이력의 두 값이면 다음 위치를 찾을 수 있습니다.
+/// 외부에는 "updateMillis:id" 문자열로 노출합니다.
+public record PointHistoryCursor(
+        long updateMillis,
+        long id
+) {
+
+    public static PointHistoryCursor of(PointHistory pointHistory) {
+        return new PointHistoryCursor(pointHistory.updateMillis(), pointHistory.id());
+    }
+
+    public static PointHistoryCursor parse(String value) {
+        int separator = value.indexOf(':');
+        if (separator < 0)
+            throw new InvalidPointRequestException("잘못된 커서입니다.");
+        try {
+            return new PointHistoryCursor(
+                    Long.parseLong(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new InvalidPointRequestException("잘못된 커서입니다.");
+        }
+    }
+
+    /// 커서가 pointHistory 보다 앞(오래된 쪽)이면 음수, 같으면 0, 뒤면 양수
+    public int compareTo(PointHistory pointHistory) {
+        return compareTo(pointHistory.updateMillis(), pointHistory.id());
+    }
+
+    /// 커서가 (updateMillis, id) 위치보다 앞이면 음수, 같으면 0, 뒤면 양수
+    public int compareTo(long updateMillis, long id) {
+        int byMillis = Long.compare(this.updateMillis, updateMillis);
+        return byMillis != 0 ? byMillis : Long.compare(this.id, id);
+    }
+
+    public String encode() {
+        return updateMillis + ":" + id;
+    }
+}
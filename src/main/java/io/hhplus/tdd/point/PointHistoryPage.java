@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/// 이력 페이지 조회 결과 (최신순)
+/// nextCursor 가 null 이면 더 이상 조회할 이력이 없습니다.
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        String nextCursor
+) {
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/// 포인트 충전/사용 (메일박스 모드, point.mailbox.enabled)
+/// 요청을 유저의 메일박스에 넣고 요청 스레드는 바로 반환하며, 처리가 끝나면 비동기로 응답합니다.
+/// 모드가 꺼져 있으면 등록되지 않고 PointCommandController 가 같은 경로를 동기로 처리합니다.
+@RestController
+@RequestMapping("/point")
+@ConditionalOnProperty(prefix = "point.mailbox", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PointMailboxController {
+
+    private final PointMailboxService pointMailboxService;
+    private final IdempotencyCache idempotencyCache;
+
+    /// Idempotency-Key 헤더가 있으면 같은 키의 재시도는 다시 충전하지 않고 처음 결과를 돌려줍니다.
+    @PatchMapping("{id}/charge")
+    public CompletableFuture<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return idempotencyCache.executeAsync(idempotencyKey, new PointOperation(id, TransactionType.CHARGE, amount),
+                () -> pointMailboxService.charge(id, amount));
+    }
+
+    /// Idempotency-Key 헤더가 있으면 같은 키의 재시도는 다시 사용하지 않고 처음 결과를 돌려줍니다.
+    @PatchMapping("{id}/use")
+    public CompletableFuture<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
+        return idempotencyCache.executeAsync(idempotencyKey, new PointOperation(id, TransactionType.USE, amount),
+                () -> pointMailboxService.use(id, amount));
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 유저별 메일박스 실행 모드 (point.mailbox.enabled)
+ * 충전/사용 요청을 유저의 메일박스(UserTaskSerializer 의 줄)에 넣고, 공용 워커 풀이 유저마다 한 번에 하나씩 꺼내 처리합니다.
+ * 요청 스레드는 결과(CompletableFuture)만 받아 바로 반환되므로, 유저가 바쁘다는 이유로 대기(park)하는 스레드가 없고
+ * 바쁜 유저 한 명은 워커를 최대 하나만 사용합니다.
+ * 같은 유저의 요청은 메일박스에 들어온 순서대로 처리되고, 비어 있는 메일박스는 바로 제거됩니다.
+ * 워커는 유저 락을 기다리지 않습니다. 이체/일괄 처리처럼 메일박스 밖의 경로가 유저 락을 잡고 있으면
+ * 그 요청을 메일박스 맨 앞에 둔 채 RETRY_DELAY 뒤에 다시 시도하므로, 워커가 대기(park)하거나 대기 제한으로 거절되지 않습니다.
+ * 모드가 꺼져 있으면 호출한 스레드에서 PointService 를 그대로 호출하고 완료된 결과를 돌려줍니다.
+ */
+@Service
+public class PointMailboxService {
+
+    // 유저 락이 잡혀 있을 때 다시 시도하기까지의 간격
+    private static final Duration RETRY_DELAY = Duration.ofMillis(2);
+
+    private final PointService pointService;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryScheduler;
+    private final UserTaskSerializer mailboxes;
+
+    public PointMailboxService(PointService pointService, PointProperties pointProperties) {
+        this.pointService = pointService;
+        PointProperties.Mailbox mailbox = pointProperties.mailbox();
+        if (mailbox.enabled()) {
+            AtomicInteger sequence = new AtomicInteger();
+            this.workers = Executors.newFixedThreadPool(mailbox.workers(), runnable -> {
+                Thread thread = new Thread(runnable, "point-mailbox-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "point-mailbox-retry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // 메일박스에 쌓일 수 있는 요청 수는 유저 락 대기 제한과 같게 둡니다.
+            this.mailboxes = new UserTaskSerializer(workers, pointProperties.admission().maxWaiters(),
+                    retryScheduler, RETRY_DELAY.toNanos());
+        } else {
+            this.workers = null;
+            this.retryScheduler = null;
+            this.mailboxes = null;
+        }
+    }
+
+    public CompletableFuture<UserPoint> charge(long userId, long amount) {
+        if (mailboxes == null)
+            return CompletableFuture.completedFuture(pointService.charge(userId, amount));
+        return submit(userId, () -> pointService.tryCharge(userId, amount));
+    }
+
+    public CompletableFuture<UserPoint> use(long userId, long amount) {
+        // 밀린 요청이 없는 유저라면 잔고 부족이 확실한 요청은 메일박스에 넣지 않고 바로 거절합니다.
+        // 밀린 충전이 있으면 그 뒤에 처리해야 하므로 메일박스에 넣고, 처리할 때 확인합니다.
+        if (mailboxes == null)
+            return CompletableFuture.completedFuture(pointService.use(userId, amount));
+        if (mailboxes.isIdle(userId))
+            pointService.precheckUse(userId, amount);
+        return submit(userId, () -> pointService.tryUse(userId, amount));
+    }
+
+    /// 처리할 요청이 남아 있는 메일박스 수
+    public int activeMailboxes() {
+        return mailboxes == null ? 0 : mailboxes.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (workers != null) {
+            retryScheduler.shutdown();
+            workers.shutdown();
+        }
+    }
+
+    /// command 가 null 을 반환하면 (유저 락이 잡혀 있으면) 메일박스 맨 앞에 둔 채 다시 시도합니다.
+    private CompletableFuture<UserPoint> submit(long userId, Supplier<UserPoint> command) {
+        return mailboxes.submit(userId, () -> {
+            UserPoint userPoint = command.get();
+            if (userPoint == null)
+                throw UserTaskSerializer.Busy.INSTANCE;
+            return userPoint;
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 처리 구간별 지표
+ * - point.lock.wait : 유저 락을 얻기까지 기다린 시간
+ * - point.lock.held : 유저 락을 잡고 있던 시간
+ * - point.table.latency : 테이블 호출 시간 (table, operation 태그로 구분)
+ * - point.use.rejected : 잔고 부족으로 거절된 사용 요청 수
+ * - point.admission.rejected : 유저 락 대기 제한으로 거절된 요청 수 (reason=queue_full, timeout)
+ * 모든 Timer 는 미리 등록해 두고 nanoTime 값만 기록하므로 요청마다 객체를 만들지 않습니다.
+ * /actuator/prometheus 에서는 히스토그램 버킷, /actuator/metrics 에서는 p50/p99/p999 를 확인할 수 있습니다.
+ */
+@Component
+public class PointMetrics {
+
+    private final Timer lockWait;
+    private final Timer lockHeld;
+    private final Timer selectById;
+    private final Timer insertOrUpdate;
+    private final Timer historyInsert;
+    private final Counter insufficientBalance;
+    private final Counter admissionQueueFull;
+    private final Counter admissionTimeout;
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        this.lockWait = timer(meterRegistry, "point.lock.wait", "유저 락 대기 시간");
+        this.lockHeld = timer(meterRegistry, "point.lock.held", "유저 락 점유 시간");
+        this.selectById = tableTimer(meterRegistry, "user_point", "select_by_id");
+        this.insertOrUpdate = tableTimer(meterRegistry, "user_point", "insert_or_update");
+        this.historyInsert = tableTimer(meterRegistry, "point_history", "insert");
+        this.insufficientBalance = Counter.builder("point.use.rejected")
+                .description("잔고 부족으로 거절된 사용 요청 수")
+                .tag("reason", "insufficient_balance")
+                .register(meterRegistry);
+        this.admissionQueueFull = admissionCounter(meterRegistry, "queue_full");
+        this.admissionTimeout = admissionCounter(meterRegistry, "timeout");
+    }
+
+    public void recordLockWait(long nanos) {
+        lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHeld(long nanos) {
+        lockHeld.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSelectById(long nanos) {
+        selectById.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordInsertOrUpdate(long nanos) {
+        insertOrUpdate.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordHistoryInsert(long nanos) {
+        historyInsert.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void incrementInsufficientBalance() {
+        insufficientBalance.increment();
+    }
+
+    public void incrementAdmissionQueueFull() {
+        admissionQueueFull.increment();
+    }
+
+    public void incrementAdmissionTimeout() {
+        admissionTimeout.increment();
+    }
+
+    private static Counter admissionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("point.admission.rejected")
+                .description("유저 락 대기 제한으로 거절된 요청 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Timer tableTimer(MeterRegistry meterRegistry, String table, String operation) {
+        return Timer.builder("point.table.latency")
+                .description("테이블 호출 시간")
+                .tag("table", table)
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+/// 일괄 처리 요청 한 건의 결과
+/// 성공하면 userPoint 에 처리 직후 잔액이, 실패하면 error 에 실패 사유가 담깁니다.
+public record PointOperationResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        UserPoint userPoint,
+        String error
+) {
+
+    static PointOperationResult of(PointOperation operation, PointResult result) {
+        if (result.isSuccess())
+            return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), true, result.userPoint(), null);
+        return failure(operation, result.error().getMessage());
+    }
+
+    public static PointOperationResult failure(PointOperation operation, String error) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), false, null, error);
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/// 유저 한 명에게 요청이 몰려 락 대기 제한(point.admission.*)을 넘었을 때 발생합니다. (429 로 응답)
+/// 잔액은 바뀌지 않았으므로 잠시 후 같은 요청을 다시 보낼 수 있습니다.
+public class PointOverloadedException extends PointException {
+
+    public PointOverloadedException(String message) {
+        super(message);
+    }
+}
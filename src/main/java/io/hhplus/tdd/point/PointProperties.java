@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point;
+
+import lombok.Builder;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/// point.* 설정값
+/// - combining : 같은 유저에게 몰린 충전/사용 요청을 한 번의 조회/저장으로 합쳐서 처리하는 모드
+/// - cache : 유저 잔액 캐시 크기
+/// - history : 이력 저널(비동기 테이블 기록)에 밀릴 수 있는 최대 이력 수와 flush/종료 시 기다리는 시간
+/// - batch : 일괄 처리 요청 크기 제한과 유저 그룹 병렬 처리 수
+/// - store : 잔액 저장소 종류(table, packed)와 초기 용량
+/// - durability : 충전/사용 이벤트 파일 저널(memory-mapped)과 잔액 스냅샷
+/// - idempotency : Idempotency-Key 로 처리한 충전/사용 결과를 보관할 최대 건수와 보관 기간
+/// - charge : 충전을 유저 락 없이 잔액 셀(CAS)에 더하고 테이블 저장은 합쳐서 처리하는 모드
+/// - admission : 유저 락 대기 요청 수 제한과 대기 시간 제한 (초과 시 429)
+/// - reactive : 논블로킹 API(/reactive/point)의 블로킹 호출 전용 scheduler 스레드 수와 대기열 크기
+/// - mailbox : 충전/사용을 유저별 메일박스에 넣고 공용 워커 풀이 처리하는 모드(비동기 응답)와 워커 수
+/// - errors : 잔고 부족 등 도메인 예외(PointException)의 stack trace 기록 여부
+/// - cluster : userId 일관된 해싱(consistent hashing)으로 여러 인스턴스에 유저를 나누어 맡기는 모드
+///
+/// 일부 설정만 바꾼 사본은 toBuilder 로 만듭니다. (예: defaults().toBuilder().combining(new Combining(true)).build())
+@ConfigurationProperties(prefix = "point")
+@Builder(toBuilder = true)
+public record PointProperties(
+        @DefaultValue Combining combining,
+        @DefaultValue Cache cache,
+        @DefaultValue History history,
+        @DefaultValue Batch batch,
+        @DefaultValue Store store,
+        @DefaultValue Durability durability,
+        @DefaultValue Charge charge,
+        @DefaultValue Idempotency idempotency,
+        @DefaultValue Cluster cluster,
+        @DefaultValue Admission admission,
+        @DefaultValue Reactive reactive,
+        @DefaultValue Mailbox mailbox,
+        @DefaultValue Errors errors
+) {
+
+    /// 설정 파일 없이 사용할 기본값 (단위 테스트 등)
+    public static PointProperties defaults() {
+        return new PointProperties(new Combining(false), new Cache(10_000), new History(10_000, Duration.ofSeconds(30)), new Batch(1_000, 16),
+                new Store("table", 1 << 16), new Durability(false, "data/point", 64 << 20, 1_000_000, false),
+                new Charge(false), new Idempotency(10_000, Duration.ofMinutes(10)),
+                new Cluster(false, "", List.of(), 128, Duration.ofSeconds(10)), new Admission(0, Duration.ZERO),
+                new Reactive(64, 10_000), new Mailbox(false, 16), new Errors(false));
+    }
+
+    public record Combining(
+            @DefaultValue("false") boolean enabled
+    ) {
+    }
+
+    public record Cache(
+            @DefaultValue("10000") int maxSize
+    ) {
+    }
+
+    public record History(
+            @DefaultValue("10000") int journalCapacity,
+            @DefaultValue("30s") Duration flushTimeout
+    ) {
+    }
+
+    public record Batch(
+            @DefaultValue("1000") int maxSize,
+            @DefaultValue("16") int parallelism
+    ) {
+    }
+
+    public record Store(
+            @DefaultValue("table") String type,
+            @DefaultValue("65536") int initialCapacity
+    ) {
+    }
+
+    public record Durability(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("data/point") String directory,
+            @DefaultValue("67108864") int segmentSize,
+            @DefaultValue("1000000") long snapshotInterval,
+            @DefaultValue("false") boolean restoreHistory
+    ) {
+    }
+
+    public record Charge(
+            @DefaultValue("false") boolean lockFree
+    ) {
+    }
+
+    public record Idempotency(
+            @DefaultValue("10000") int maxSize,
+            @DefaultValue("10m") Duration ttl
+    ) {
+    }
+
+    /// self : 이 인스턴스의 주소(예: http://localhost:8080), members : 전체 인스턴스 주소 목록 (self 포함)
+    /// handoffTimeout : 유저를 넘겨주기 전에 이전 구성원 버전으로 처리 중인 요청이 끝나기를 기다리는 최대 시간
+    public record Cluster(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("") String self,
+            @DefaultValue List<String> members,
+            @DefaultValue("128") int virtualNodes,
+            @DefaultValue("10s") Duration handoffTimeout
+    ) {
+    }
+
+    /// maxWaiters : 유저 한 명의 락을 기다릴 수 있는 최대 요청 수 (0 이면 제한 없음)
+    /// lockTimeout : 유저 락을 기다리는 최대 시간 (0 이면 제한 없음)
+    public record Admission(
+            @DefaultValue("0") int maxWaiters,
+            @DefaultValue("0s") Duration lockTimeout
+    ) {
+    }
+
+    public record Reactive(
+            @DefaultValue("64") int threadCap,
+            @DefaultValue("10000") int queuedTaskCap
+    ) {
+    }
+
+    public record Mailbox(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("16") int workers
+    ) {
+    }
+
+    public record Errors(
+            @DefaultValue("false") boolean stackTrace
+    ) {
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+/// PointCommand 한 건의 처리 결과
+/// 성공하면 userPoint, 거절되면 error 가 채워집니다.
+public record PointResult(
+        UserPoint userPoint,
+        RuntimeException error
+) {
+
+    public static PointResult success(UserPoint userPoint) {
+        return new PointResult(userPoint, null);
+    }
+
+    public static PointResult failure(RuntimeException error) {
+        return new PointResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public UserPoint getOrThrow() {
+        if (error != null)
+            throw error;
+        return userPoint;
+    }
+}
@@ -1,76 +1,617 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointEventLog;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.BalanceStore;
 import io.hhplus.tdd.timeProvider.TimeProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class PointService {
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
-    private final TimeProvider timeProvider;
+    static final int MAX_HISTORY_PAGE_SIZE = 100;
 
+    // 잔액 저장소 (point.store.type 으로 UserPointTable 또는 packed 저장소 선택)
+    private final BalanceStore balanceStore;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final TimeProvider timeProvider;
+    private final PointProperties pointProperties;
+    private final UserPointCache userPointCache;
     // 유저별 락(메모리 락) => 동시성 제어를 위한 유저별 충전, 차감에 대한 Lock입니다.
-    private final ConcurrentHashMap<Long, ReentrantLock> userLocks = new ConcurrentHashMap<>();
+    private final UserLockRegistry userLockRegistry;
+    private final PointMetrics pointMetrics;
+    // 충전/사용 이벤트 파일 저널 (point.durability.enabled 가 아니면 아무것도 하지 않습니다.)
+    private final PointEventLog pointEventLog;
 
     /// 들어오는 UserId에 대한 Table 조회
     /// 신규 유저는 Default 반환
+    /// 캐시에 있으면 Table 을 조회하지 않고, 없으면 유저 락 안에서 Table 을 읽어 캐시를 채웁니다.
     public UserPoint getUserPoint(long userId) {
-        return userPointTable.selectById(userId);
+        if (lockFreeCharge()) {
+            // 처리 중인 요청이 있는 유저는 아직 테이블에 저장되지 않은 잔액 셀의 값이 최신입니다.
+            UserLockRegistry.UserLock live = userLockRegistry.peek(userId);
+            long balance = live == null ? UserLockRegistry.UserLock.UNKNOWN_BALANCE : live.balance().get();
+            if (balance != UserLockRegistry.UserLock.UNKNOWN_BALANCE)
+                return new UserPoint(userId, balance, live.updateMillis());
+        }
+        UserPoint cached = userPointCache.get(userId);
+        if (cached != null)
+            return cached;
+        UserLockRegistry.UserLock userLock = userLockRegistry.acquire(userId);
+        try {
+            long lockedAt = lock(userLock);
+            try {
+                // 락을 기다리는 동안 다른 요청이 캐시를 채웠을 수 있습니다.
+                UserPoint loaded = userPointCache.peek(userId);
+                return loaded != null ? loaded : loadUserPoint(userId);
+            } finally {
+                unlock(userLock, lockedAt);
+            }
+        } finally {
+            userLockRegistry.release(userLock);
+        }
     }
 
     public UserPoint charge(long userId, long amount) {
+        validateCharge(amount);
+        admitHistories(1);
+        if (lockFreeCharge())
+            return chargeLockFree(userId, amount);
+        return execute(userId, PointCommand.charge(amount));
+    }
+
+    public UserPoint use(long userId, long amount) {
+        precheckUse(userId, amount);
+        admitHistories(1);
+        return execute(userId, PointCommand.use(amount));
+    }
+
+    /// 메일박스 워커용 충전/사용
+    /// 유저 락을 바로 잡을 수 있을 때만 처리하고, 이체/일괄 처리처럼 다른 경로가 락을 잡고 있으면 기다리지 않고 null 을 반환합니다.
+    /// 같은 유저의 요청은 이미 메일박스에서 한 줄로 처리되므로, 락 대기로 워커를 붙잡거나 대기 제한(point.admission)으로 거절되지 않습니다.
+    UserPoint tryCharge(long userId, long amount) {
+        validateCharge(amount);
+        admitHistories(1);
+        return tryExecute(userId, PointCommand.charge(amount));
+    }
+
+    UserPoint tryUse(long userId, long amount) {
+        precheckUse(userId, amount);
+        admitHistories(1);
+        return tryExecute(userId, PointCommand.use(amount));
+    }
+
+    /// 테이블에 기록되지 못하고 밀린 이력이 point.history.journal-capacity 에 닿았으면, 락을 잡거나 잔액을 바꾸기 전에 거절합니다.
+    /// 이력 저널은 유저 락 안에서 기다리지 않으므로, 밀린 이력이 무한히 쌓이지 않도록 여기서 새 요청을 막습니다.
+    private void admitHistories(int count) {
+        if (!pointHistoryRepository.hasCapacity(count))
+            throw new PointOverloadedException("이력 저장이 밀려 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private static void validateCharge(long amount) {
+        if (amount < 0)
+            throw new InvalidPointRequestException("음수로 충전은 불가능합니다.");
+    }
+
+    /// 락을 기다리거나 테이블을 조회하기 전에, 거절될 것이 확실한 사용 요청을 바로 거절합니다.
+    /// 메일박스/논블로킹 API 처럼 요청을 줄 세우는 쪽에서도 줄에 넣기 전에 호출합니다.
+    void precheckUse(long userId, long amount) {
+        if (amount < 0)
+            throw new InvalidPointRequestException("음수로 사용은 불가능합니다.");
+        precheckBalance(userId, amount);
+    }
+
+    /// fromUserId 의 포인트를 toUserId 에게 옮깁니다.
+    /// 두 유저의 락을 항상 userId 오름차순으로 잡으므로, 서로 반대 방향 이체가 동시에 들어와도 교착 상태가 생기지 않습니다.
+    /// 잔액은 유저마다 한 번씩만 읽고 쓰며, 출금/입금 이력은 연속된 id 로 함께 남깁니다.
+    public PointTransfer transfer(long fromUserId, long toUserId, long amount) {
         if (amount < 0)
-            throw new RuntimeException("음수로 충전은 불가능합니다.");
-        ReentrantLock lock = userLocks.computeIfAbsent(userId, k -> new ReentrantLock());
-        lock.lock();
+            throw new InvalidPointRequestException("음수로 이체는 불가능합니다.");
+        if (fromUserId == toUserId)
+            throw new InvalidPointRequestException("같은 유저에게는 이체할 수 없습니다.");
+        precheckBalance(fromUserId, amount);
+        admitHistories(2);
+
+        UserLockRegistry.UserLock fromLock = userLockRegistry.acquire(fromUserId);
+        UserLockRegistry.UserLock toLock = userLockRegistry.acquire(toUserId);
+        UserLockRegistry.UserLock firstLock = fromUserId < toUserId ? fromLock : toLock;
+        UserLockRegistry.UserLock secondLock = fromUserId < toUserId ? toLock : fromLock;
+        PointTransfer transfer;
         try {
-            // 기존에 유저가 있는 지 확인
-            UserPoint oldUserPoint = userPointTable.selectById(userId);
-            // 기존 유저의 Point에 새로 충전할 양을 추가(신규 유저는 Default, 즉 0 Point 반환)
-            long newAmount = oldUserPoint.point() + amount;
-            UserPoint newUserPoint = userPointTable.insertOrUpdate(userId, newAmount);
-            pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, timeProvider.currentTimeMillis());
-            return newUserPoint;
+            long firstLockedAt = lock(firstLock);
+            try {
+                long secondLockedAt = lock(secondLock);
+                try {
+                    transfer = transferLocked(fromUserId, fromLock, toUserId, toLock, amount);
+                } finally {
+                    unlock(secondLock, secondLockedAt);
+                }
+            } finally {
+                unlock(firstLock, firstLockedAt);
+            }
         } finally {
-            lock.unlock();
+            userLockRegistry.release(toLock);
+            userLockRegistry.release(fromLock);
         }
+        pointEventLog.sync();
+        return transfer;
+    }
 
+    /// 유저의 잔액/이력 버전. 충전/사용/이체로 잔액이 바뀔 때마다 증가하며, 테이블을 조회하지 않습니다.
+    /// 잔액/이력보다 먼저 읽어야 조회 결과가 이 버전보다 오래된 값이 되지 않습니다.
+    public long getUserVersion(long userId) {
+        return pointHistoryRepository.versionOf(userId);
     }
 
-    public UserPoint use(long userId, long amount) {
-        if (amount < 0)
-            throw new RuntimeException("음수로 사용은 불가능합니다.");
-        ReentrantLock lock = userLocks.computeIfAbsent(userId, k -> new ReentrantLock());
-        lock.lock();
+    /// 유저별 인덱스가 이미 최신순으로 정렬된 이력을 돌려주므로 별도 정렬이 필요 없습니다.
+    public List<PointHistory> getUserPointHistories(long userId) {
+        return pointHistoryRepository.selectAllByUserId(userId);
+    }
+
+    /// 전체 유저의 이력을 id 오름차순으로 하나씩 넘기고, 넘긴 건수를 반환합니다. (afterId 다음 이력부터)
+    /// 호출한 시점까지 저장된 이력까지만 넘기며, 테이블을 조회하지 않고 한 건씩 만들어 넘기므로 메모리를 일정하게 씁니다.
+    public long exportPointHistories(long afterId, Consumer<PointHistory> action) {
+        return pointHistoryRepository.exportAfter(afterId, action);
+    }
+
+    /// 충전/사용 요약 (전체 합계 + 최근 시간/일 단위 합계), 이력 수와 무관하게 일정한 시간에 조회됩니다.
+    public PointSummary getUserPointSummary(long userId) {
+        return pointHistoryRepository.selectSummaryByUserId(userId, timeProvider.currentTimeMillis());
+    }
+
+    /// 이력을 최신순으로 한 페이지씩 조회
+    /// limit 은 1 ~ MAX_HISTORY_PAGE_SIZE 사이여야 합니다.
+    public PointHistoryPage getUserPointHistoryPage(long userId, String cursor, int limit, Long from, Long to) {
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE)
+            throw new InvalidPointRequestException("조회 건수는 1 ~ " + MAX_HISTORY_PAGE_SIZE + " 사이여야 합니다.");
+        PointHistoryCursor parsed = cursor == null || cursor.isEmpty() ? null : PointHistoryCursor.parse(cursor);
+        return pointHistoryRepository.selectPageByUserId(userId, parsed, limit, from, to);
+    }
+
+    /// 유저의 잔액과 이력을 이 인스턴스에서 빼서 반환합니다. (클러스터에서 유저를 다른 인스턴스로 옮길 때)
+    /// 유저 락 안에서 잔액을 0 으로 바꾸고 이력을 인덱스에서 빼므로, 반환한 뒤로 이 인스턴스에는 옮긴 상태가 남지 않습니다.
+    /// 이 유저의 요청이 더 들어오지 않는 것은 호출하는 쪽(클러스터 구성원 버전)이 보장합니다.
+    public PointHandoff handOff(long userId) {
+        UserLockRegistry.UserLock userLock = userLockRegistry.acquire(userId);
         try {
-            // 기존에 유저가 있는 지 확인
-            UserPoint oldUserPoint = userPointTable.selectById(userId);
-            if (oldUserPoint.point() < amount)
-                throw new RuntimeException("잔고 부족");
-            // 기존 유저의 Point에 새로 차감할 양을 빼기(신규 유저는 Default, 즉 0 Point 반환)
-            long newAmount = oldUserPoint.point() - amount;
+            long lockedAt = lockUnbounded(userLock, System.nanoTime());
+            try {
+                UserPoint current = userPointCache.get(userId);
+                long point = (current != null ? current : loadUserPoint(userId)).point();
+                List<PointHistory> histories = pointHistoryRepository.removeAll(userId);
+                write(userId, 0);
+                return new PointHandoff(true, point, histories);
+            } finally {
+                unlock(userLock, lockedAt);
+            }
+        } finally {
+            userLockRegistry.release(userLock);
+        }
+    }
 
-            UserPoint newUserPoint = userPointTable.insertOrUpdate(userId, newAmount);
-            pointHistoryTable.insert(userId, amount, TransactionType.USE, timeProvider.currentTimeMillis());
-            return newUserPoint;
-        }finally {
-            lock.unlock();
+    /// 다른 인스턴스에서 옮겨 온 유저의 잔액과 이력을 넣습니다. 이력은 이 인스턴스의 저널에서 새 id 를 받습니다.
+    /// 파일 저널에는 옮겨 온 이력을 순서대로 다시 적용한 잔액과 함께 기록하므로, 재시작해도 마지막 이력의 잔액으로 복구됩니다.
+    public void receive(long userId, PointHandoff handoff) {
+        List<PointHistory> drafts = new ArrayList<>(handoff.histories().size());
+        long balance = handoff.point();
+        for (PointHistory pointHistory : handoff.histories()) {
+            drafts.add(new PointHistory(0, userId, pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis()));
+            balance -= pointHistory.type() == TransactionType.USE ? -pointHistory.amount() : pointHistory.amount();
         }
+        UserLockRegistry.UserLock userLock = userLockRegistry.acquire(userId);
+        try {
+            long lockedAt = lockUnbounded(userLock, System.nanoTime());
+            try {
+                for (PointHistory pointHistory : pointHistoryRepository.insertAll(drafts)) {
+                    balance += pointHistory.type() == TransactionType.USE ? -pointHistory.amount() : pointHistory.amount();
+                    pointEventLog.append(pointHistory, balance);
+                }
+                write(userId, handoff.point());
+            } finally {
+                unlock(userLock, lockedAt);
+            }
+        } finally {
+            userLockRegistry.release(userLock);
+        }
+        pointEventLog.sync();
     }
 
-    public List<PointHistory> getUserPointHistories(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId)
-                .stream()
-                .sorted(Comparator.comparingLong(PointHistory::updateMillis).reversed())
-                .toList();
+    /// 한 유저의 요청 묶음을 락 한 번으로 처리합니다. (일괄 처리용)
+    /// 결과는 요청 순서와 같고, 잔고가 부족한 사용 요청은 해당 요청만 실패로 돌려줍니다.
+    List<PointResult> executeAll(long userId, List<PointCommand> commands) {
+        admitHistories(commands.size());
+        UserLockRegistry.UserLock userLock = userLockRegistry.acquire(userId);
+        List<PointResult> results;
+        try {
+            long lockedAt = lock(userLock);
+            try {
+                results = applyLocked(userId, userLock, commands);
+            } finally {
+                unlock(userLock, lockedAt);
+            }
+        } finally {
+            userLockRegistry.release(userLock);
+        }
+        pointEventLog.sync();
+        return results;
+    }
+
+    private UserPoint execute(long userId, PointCommand command) {
+        UserLockRegistry.UserLock userLock = userLockRegistry.acquire(userId);
+        try {
+            if (!pointProperties.combining().enabled()) {
+                long lockedAt = lock(userLock);
+                UserPoint userPoint;
+                try {
+                    userPoint = applyLocked(userId, userLock, List.of(command)).get(0).getOrThrow();
+                } finally {
+                    unlock(userLock, lockedAt);
+                }
+                pointEventLog.sync();
+                return userPoint;
+            }
+
+            // 락을 기다리는 동안 먼저 락을 잡은 스레드가 내 요청까지 함께 처리할 수 있도록 큐에 먼저 넣어둡니다.
+            PendingCommand pending = new PendingCommand(command);
+            userLock.pendingCommands().add(pending);
+            long lockedAt;
+            try {
+                lockedAt = lock(userLock);
+            } catch (PointOverloadedException e) {
+                // 큐에서 꺼내지 못했다면 이미 락을 잡은 스레드가 처리 중이므로, 거절하지 않고 그 결과를 기다립니다.
+                if (userLock.pendingCommands().remove(pending))
+                    throw e;
+                lockedAt = lockUnbounded(userLock, System.nanoTime());
+            }
+            try {
+                if (pending.result == null)
+                    combine(userId, userLock);
+            } finally {
+                unlock(userLock, lockedAt);
+            }
+            // 저널 기록은 락 안에서, 디스크 반영은 락 밖에서 여러 요청이 함께 기다립니다. (group commit)
+            UserPoint userPoint = pending.result.getOrThrow();
+            pointEventLog.sync();
+            return userPoint;
+        } finally {
+            userLockRegistry.release(userLock);
+        }
+    }
+
+    private UserPoint tryExecute(long userId, PointCommand command) {
+        UserLockRegistry.UserLock userLock = userLockRegistry.acquire(userId);
+        UserPoint userPoint;
+        try {
+            long start = System.nanoTime();
+            if (!userLock.tryLock())
+                return null;
+            pointMetrics.recordLockWait(0);
+            try {
+                userPoint = applyLocked(userId, userLock, List.of(command)).get(0).getOrThrow();
+            } finally {
+                unlock(userLock, start);
+            }
+        } finally {
+            userLockRegistry.release(userLock);
+        }
+        pointEventLog.sync();
+        return userPoint;
+    }
+
+    /// 큐에 쌓인 요청을 모두 꺼내 한 번의 조회/저장으로 처리하고 각 요청에 결과를 돌려줍니다.
+    /// 처리 중 예외가 나면 꺼낸 요청 모두에 같은 예외를 실패로 돌려줍니다. (결과 없이 남겨두지 않음)
+    private void combine(long userId, UserLockRegistry.UserLock userLock) {
+        Queue<PendingCommand> queue = userLock.pendingCommands();
+        List<PendingCommand> batch = new ArrayList<>();
+        PendingCommand next;
+        while ((next = queue.poll()) != null)
+            batch.add(next);
+
+        List<PointCommand> commands = new ArrayList<>(batch.size());
+        for (PendingCommand pending : batch)
+            commands.add(pending.command);
+        List<PointResult> results;
+        try {
+            results = applyLocked(userId, userLock, commands);
+        } catch (RuntimeException e) {
+            for (PendingCommand pending : batch)
+                pending.result = PointResult.failure(e);
+            throw e;
+        }
+        for (int i = 0; i < batch.size(); i++)
+            batch.get(i).result = results.get(i);
+    }
+
+    /// 유저 락을 잡은 상태에서 호출합니다.
+    /// 잔액은 한 번만 읽고 한 번만 저장하며, 잔고가 부족한 사용 요청은 그 요청만 거절합니다.
+    private List<PointResult> applyLocked(long userId, UserLockRegistry.UserLock userLock, List<PointCommand> commands) {
+        if (lockFreeCharge())
+            return applyToBalanceCell(userId, userLock, commands);
+        // 기존에 유저가 있는 지 확인(신규 유저는 Default, 즉 0 Point 반환)
+        UserPoint current = userPointCache.get(userId);
+        long balance = (current != null ? current : loadUserPoint(userId)).point();
+        long[] balances = new long[commands.size()];
+        PointException[] errors = new PointException[commands.size()];
+        boolean changed = false;
+        for (int i = 0; i < commands.size(); i++) {
+            PointCommand command = commands.get(i);
+            if (command.type() == TransactionType.USE) {
+                if (balance < command.amount()) {
+                    errors[i] = insufficientBalance();
+                    continue;
+                }
+                balance -= command.amount();
+            } else {
+                balance += command.amount();
+            }
+            balances[i] = balance;
+            changed = true;
+        }
+
+        List<PointResult> results = new ArrayList<>(commands.size());
+        if (!changed) {
+            for (PointException error : errors)
+                results.add(PointResult.failure(error));
+            return results;
+        }
+
+        UserPoint written = write(userId, balance);
+        for (int i = 0; i < commands.size(); i++) {
+            if (errors[i] != null) {
+                results.add(PointResult.failure(errors[i]));
+                continue;
+            }
+            PointCommand command = commands.get(i);
+            // 이력은 저널 큐에 넣기만 하므로 락을 잡은 채 테이블 throttle 을 기다리지 않습니다.
+            PointHistory pointHistory = pointHistoryRepository.insert(
+                    userId, command.amount(), command.type(), timeProvider.currentTimeMillis());
+            pointEventLog.append(pointHistory, balances[i]);
+            results.add(PointResult.success(new UserPoint(userId, balances[i], written.updateMillis())));
+        }
+        return results;
+    }
+
+    /// 두 유저의 락을 모두 잡은 상태에서 호출합니다.
+    private PointTransfer transferLocked(long fromUserId, UserLockRegistry.UserLock fromLock,
+                                         long toUserId, UserLockRegistry.UserLock toLock, long amount) {
+        long now = timeProvider.currentTimeMillis();
+        long fromBalance;
+        long toBalance;
+        if (lockFreeCharge()) {
+            // 락 없이 들어오는 충전과 겹칠 수 있으므로 두 잔액 셀 모두 CAS 로 바꿉니다.
+            initBalanceCell(fromUserId, fromLock);
+            initBalanceCell(toUserId, toLock);
+            AtomicLong fromCell = fromLock.balance();
+            long current;
+            do {
+                current = fromCell.get();
+                if (current < amount)
+                    throw insufficientBalance();
+            } while (!fromCell.compareAndSet(current, current - amount));
+            fromBalance = current - amount;
+            toBalance = toLock.balance().addAndGet(amount);
+            fromLock.updateMillis(now);
+            toLock.updateMillis(now);
+        } else {
+            UserPoint from = userPointCache.get(fromUserId);
+            fromBalance = (from != null ? from : loadUserPoint(fromUserId)).point();
+            if (fromBalance < amount)
+                throw insufficientBalance();
+            UserPoint to = userPointCache.get(toUserId);
+            toBalance = (to != null ? to : loadUserPoint(toUserId)).point();
+            fromBalance -= amount;
+            toBalance += amount;
+        }
+
+        UserPoint fromPoint;
+        UserPoint toPoint;
+        if (lockFreeCharge()) {
+            fromPoint = new UserPoint(fromUserId, fromBalance, now);
+            toPoint = new UserPoint(toUserId, toBalance, now);
+        } else {
+            fromPoint = write(fromUserId, fromBalance);
+            toPoint = write(toUserId, toBalance);
+        }
+        List<PointHistory> histories = pointHistoryRepository.insertAll(List.of(
+                new PointHistory(0, fromUserId, amount, TransactionType.USE, now),
+                new PointHistory(0, toUserId, amount, TransactionType.CHARGE, now)));
+        // 출금/입금 중 하나만 복구되지 않도록 두 이벤트를 한 묶음으로 기록합니다.
+        pointEventLog.appendAll(histories, fromBalance, toBalance);
+        if (lockFreeCharge()) {
+            persist(fromUserId, fromLock);
+            persist(toUserId, toLock);
+        }
+        return new PointTransfer(fromPoint, toPoint, histories.get(0), histories.get(1));
+    }
+
+    private InsufficientBalanceException insufficientBalance() {
+        pointMetrics.incrementInsufficientBalance();
+        return new InsufficientBalanceException();
+    }
+
+    /// 최근에 알려진 잔액(잔액 셀 또는 캐시)으로 잔고 부족이 확실하면 유저 락 없이 바로 거절합니다.
+    /// 알려진 잔액은 이 요청이 처리되는 동안 한 번은 실제 잔액이었던 값이므로, 그 시점에 처리한 것으로 보면 락 안에서 거절한 것과 같습니다.
+    /// 잔액을 모르면(캐시에 없으면) 테이블을 조회하지 않고 통과시켜 락 안에서 확인합니다.
+    private void precheckBalance(long userId, long amount) {
+        if (lockFreeCharge()) {
+            // 처리 중인 요청이 있는 유저는 캐시보다 잔액 셀의 값이 최신입니다.
+            UserLockRegistry.UserLock live = userLockRegistry.peek(userId);
+            long balance = live == null ? UserLockRegistry.UserLock.UNKNOWN_BALANCE : live.balance().get();
+            if (balance != UserLockRegistry.UserLock.UNKNOWN_BALANCE) {
+                if (balance < amount)
+                    throw insufficientBalance();
+                return;
+            }
+        }
+        // 적중/실패 지표에는 남기지 않습니다.
+        UserPoint known = userPointCache.peek(userId);
+        if (known != null && known.point() < amount)
+            throw insufficientBalance();
+    }
+
+    /// 유저 락을 잡은 상태에서 호출합니다.
+    private UserPoint write(long userId, long balance) {
+        long writeStart = System.nanoTime();
+        UserPoint written = balanceStore.insertOrUpdate(userId, balance);
+        pointMetrics.recordInsertOrUpdate(System.nanoTime() - writeStart);
+        userPointCache.put(written);
+        return written;
+    }
+
+    /// lock-free 충전은 파일 저널에 변경 후 잔액을 순서대로 남겨야 하는 durability 모드와는 함께 쓰지 않습니다.
+    private boolean lockFreeCharge() {
+        return pointProperties.charge().lockFree() && !pointEventLog.isEnabled();
+    }
+
+    /// 유저 락 없이 잔액 셀에 CAS 로 더합니다. 잔고 확인이 필요 없으므로 사용(use)과 달리 직렬화하지 않습니다.
+    /// 테이블 저장은 persist 에서 여러 충전을 최신 값 하나로 합쳐서 처리합니다.
+    private UserPoint chargeLockFree(long userId, long amount) {
+        UserLockRegistry.UserLock userLock = userLockRegistry.acquire(userId);
+        try {
+            initBalanceCell(userId, userLock);
+            long balance = userLock.balance().addAndGet(amount);
+            long now = timeProvider.currentTimeMillis();
+            userLock.updateMillis(now);
+            pointHistoryRepository.insert(userId, amount, TransactionType.CHARGE, now);
+            persist(userId, userLock);
+            return new UserPoint(userId, balance, now);
+        } finally {
+            userLockRegistry.release(userLock);
+        }
+    }
+
+    /// 유저 락을 잡은 상태에서 호출합니다. (lock-free 충전 모드)
+    /// 사용 요청끼리는 유저 락으로 직렬화되지만, 락 없이 들어오는 충전과 겹칠 수 있으므로 잔액은 CAS 로 바꿉니다.
+    private List<PointResult> applyToBalanceCell(long userId, UserLockRegistry.UserLock userLock, List<PointCommand> commands) {
+        initBalanceCell(userId, userLock);
+        AtomicLong cell = userLock.balance();
+        List<PointResult> results = new ArrayList<>(commands.size());
+        boolean changed = false;
+        for (PointCommand command : commands) {
+            long balance;
+            if (command.type() == TransactionType.USE) {
+                long current;
+                do {
+                    current = cell.get();
+                    balance = current - command.amount();
+                } while (current >= command.amount() && !cell.compareAndSet(current, balance));
+                if (current < command.amount()) {
+                    results.add(PointResult.failure(insufficientBalance()));
+                    continue;
+                }
+            } else {
+                balance = cell.addAndGet(command.amount());
+            }
+            long now = timeProvider.currentTimeMillis();
+            userLock.updateMillis(now);
+            pointHistoryRepository.insert(userId, command.amount(), command.type(), now);
+            results.add(PointResult.success(new UserPoint(userId, balance, now)));
+            changed = true;
+        }
+        if (changed)
+            persist(userId, userLock);
+        return results;
+    }
+
+    /// 잔액 셀이 비어 있으면 캐시(없으면 테이블)의 잔액으로 채웁니다. 락의 수명 동안 한 번만 유저 락을 잡습니다.
+    /// lock-free 충전이 대기 제한(point.admission)으로 거절되지 않도록 제한 없이 기다립니다. (셀이 채워진 뒤로는 락을 잡지 않음)
+    private void initBalanceCell(long userId, UserLockRegistry.UserLock userLock) {
+        if (userLock.balance().get() != UserLockRegistry.UserLock.UNKNOWN_BALANCE)
+            return;
+        long lockedAt = lockUnbounded(userLock, System.nanoTime());
+        try {
+            if (userLock.balance().get() == UserLockRegistry.UserLock.UNKNOWN_BALANCE) {
+                UserPoint current = userPointCache.get(userId);
+                UserPoint loaded = current != null ? current : loadUserPoint(userId);
+                userLock.updateMillis(loaded.updateMillis());
+                userLock.balance().set(loaded.point());
+            }
+        } finally {
+            unlock(userLock, lockedAt);
+        }
+    }
+
+    /// 잔액 셀의 최신 값을 테이블과 캐시에 저장합니다.
+    /// 이미 저장을 기다리는 스레드가 있으면(dirty) 그대로 돌아가며, 그 스레드가 저장할 때 이 변경까지 함께 저장됩니다.
+    /// 저장하는 스레드는 락 참조를 쥐고 있으므로 셀이 저장되기 전에 락(셀)이 제거되지 않습니다.
+    private void persist(long userId, UserLockRegistry.UserLock userLock) {
+        if (!userLock.dirty().compareAndSet(false, true))
+            return;
+        userLock.persistLock().lock();
+        try {
+            // 기다리는 동안 앞선 스레드가 이미 이 값까지 저장했다면 건너뜁니다.
+            if (userLock.dirty().getAndSet(false)) {
+                long writeStart = System.nanoTime();
+                UserPoint written = balanceStore.insertOrUpdate(userId, userLock.balance().get());
+                pointMetrics.recordInsertOrUpdate(System.nanoTime() - writeStart);
+                userPointCache.put(written);
+            }
+        } finally {
+            userLock.persistLock().unlock();
+        }
+    }
+
+    /// 유저 락을 잡은 상태에서 호출합니다.
+    private UserPoint loadUserPoint(long userId) {
+        long start = System.nanoTime();
+        UserPoint userPoint = balanceStore.selectById(userId);
+        pointMetrics.recordSelectById(System.nanoTime() - start);
+        userPointCache.put(userPoint);
+        return userPoint;
+    }
+
+    /// 유저 락을 잡고 락 대기 시간을 기록합니다. 반환값(락을 얻은 시각)은 unlock 에 넘겨 점유 시간을 기록합니다.
+    /// 락이 잡혀 있으면 point.admission 제한 안에서만 기다리고, 대기 요청 수나 대기 시간을 넘으면 PointOverloadedException 을 던집니다.
+    /// 한 유저에게 몰린 요청이 요청 스레드를 모두 붙잡지 않게 하여, 다른 유저의 요청은 영향을 받지 않도록 합니다.
+    private long lock(UserLockRegistry.UserLock userLock) {
+        long start = System.nanoTime();
+        if (userLock.tryLock()) {
+            pointMetrics.recordLockWait(0);
+            return start;
+        }
+        PointProperties.Admission admission = pointProperties.admission();
+        AtomicInteger waiters = userLock.waiters();
+        try {
+            if (waiters.incrementAndGet() > admission.maxWaiters() && admission.maxWaiters() > 0) {
+                pointMetrics.incrementAdmissionQueueFull();
+                throw new PointOverloadedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            long timeoutNanos = admission.lockTimeout().toNanos();
+            if (timeoutNanos <= 0)
+                return lockUnbounded(userLock, start);
+            if (!userLock.tryLock(timeoutNanos)) {
+                pointMetrics.incrementAdmissionTimeout();
+                throw new PointOverloadedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("요청 처리가 중단되었습니다.", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+        long lockedAt = System.nanoTime();
+        pointMetrics.recordLockWait(lockedAt - start);
+        return lockedAt;
+    }
+
+    /// 제한 없이 유저 락을 기다립니다.
+    private long lockUnbounded(UserLockRegistry.UserLock userLock, long start) {
+        userLock.lock();
+        long lockedAt = System.nanoTime();
+        pointMetrics.recordLockWait(lockedAt - start);
+        return lockedAt;
+    }
+
+    private void unlock(UserLockRegistry.UserLock userLock, long lockedAt) {
+        pointMetrics.recordLockHeld(System.nanoTime() - lockedAt);
+        userLock.unlock();
     }
 }
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/// 유저의 충전/사용 요약
+/// 전체 기간 합계와, 최근 시간/일 단위 버킷(최신순, 이력이 있는 버킷만)을 담습니다.
+public record PointSummary(
+        long userId,
+        long chargeAmount,
+        long chargeCount,
+        long useAmount,
+        long useCount,
+        List<PointSummaryBucket> hourly,
+        List<PointSummaryBucket> daily
+) {
+    public static PointSummary empty(long userId) {
+        return new PointSummary(userId, 0, 0, 0, 0, List.of(), List.of());
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/// 시간/일 단위 충전/사용 합계 (startMillis 는 버킷 시작 시각, UTC 기준)
+public record PointSummaryBucket(
+        long startMillis,
+        long chargeAmount,
+        long chargeCount,
+        long useAmount,
+        long useCount
+) {
+}
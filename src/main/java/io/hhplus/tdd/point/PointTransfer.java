@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/// 이체 결과
+/// from/to 에 이체 직후 두 유저의 잔액이, withdrawal/deposit 에 출금(USE)/입금(CHARGE) 이력이 담깁니다.
+/// 두 이력은 연속된 id 로 함께 저장되므로 deposit.id() == withdrawal.id() + 1 입니다.
+public record PointTransfer(
+        UserPoint from,
+        UserPoint to,
+        PointHistory withdrawal,
+        PointHistory deposit
+) {
+}
@@ -0,0 +1,8 @@
+package io.hhplus.tdd.point;
+
+/// 이체 요청 본문 (받는 유저, 금액)
+public record PointTransferRequest(
+        long toUserId,
+        long amount
+) {
+}
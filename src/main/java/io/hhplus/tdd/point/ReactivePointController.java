@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * PointController 와 같은 API 의 논블로킹 버전
+ * Mono/Flux 를 반환하므로 요청 스레드는 바로 반환되고, 응답은 ReactivePointService 의 scheduler 에서 완료될 때 쓰여집니다.
+ */
+@RestController
+@RequestMapping("/reactive/point")
+@RequiredArgsConstructor
+public class ReactivePointController {
+
+    private final ReactivePointService reactivePointService;
+
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return reactivePointService.getUserPoint(id);
+    }
+
+    @GetMapping("{id}/histories")
+    public Flux<PointHistory> history(
+            @PathVariable long id
+    ) {
+        return reactivePointService.getUserPointHistories(id);
+    }
+
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return reactivePointService.charge(id, amount);
+    }
+
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return reactivePointService.use(id, amount);
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * PointService 의 논블로킹(Mono/Flux) 창구
+ * 블로킹 테이블 호출은 크기가 제한된 전용 scheduler(point.reactive.*)에서만 실행되어, 호출한 쪽(이벤트 루프, 요청 스레드)을 붙잡지 않습니다.
+ * 같은 유저의 충전/사용은 UserTaskSerializer 로 하나씩 차례대로 넘기므로, 같은 창구의 요청끼리는 유저 락을 두고 기다리지 않습니다.
+ * 다만 처리는 PointService 를 그대로 호출하므로, 이체/일괄 처리나 PointController 의 요청이 같은 유저 락을 잡고 있으면
+ * scheduler 스레드가 PointService.lock() 에서 기다리고(대기 제한 point.admission 도 그대로 적용), 잔액 조회도 캐시에 없으면 유저 락을 잡습니다.
+ * scheduler 의 대기열이나 유저별 대기 수(point.admission.max-waiters)를 넘으면 PointOverloadedException 으로 끝납니다.
+ */
+@Service
+public class ReactivePointService {
+
+    private final PointService pointService;
+    private final Scheduler scheduler;
+    private final UserTaskSerializer userTaskSerializer;
+
+    public ReactivePointService(PointService pointService, PointProperties pointProperties) {
+        this.pointService = pointService;
+        PointProperties.Reactive reactive = pointProperties.reactive();
+        this.scheduler = Schedulers.newBoundedElastic(reactive.threadCap(), reactive.queuedTaskCap(), "point-reactive");
+        this.userTaskSerializer = new UserTaskSerializer(scheduler::schedule, pointProperties.admission().maxWaiters());
+    }
+
+    public Mono<UserPoint> getUserPoint(long userId) {
+        return blocking(() -> pointService.getUserPoint(userId));
+    }
+
+    /// 이력을 최신순으로 하나씩 흘려보냅니다.
+    public Flux<PointHistory> getUserPointHistories(long userId) {
+        return blocking(() -> pointService.getUserPointHistories(userId)).flatMapIterable(histories -> histories);
+    }
+
+    public Mono<UserPoint> charge(long userId, long amount) {
+        return serialized(userId, () -> pointService.charge(userId, amount));
+    }
+
+    public Mono<UserPoint> use(long userId, long amount) {
+        // 줄에 밀린 요청이 없는 유저라면 잔고 부족이 확실한 요청은 줄에 넣지 않고 바로 거절합니다.
+        return Mono.fromFuture(() -> {
+            if (userTaskSerializer.isIdle(userId))
+                pointService.precheckUse(userId, amount);
+            return userTaskSerializer.submit(userId, () -> pointService.use(userId, amount));
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.dispose();
+    }
+
+    /// 구독할 때 유저의 줄에 넣습니다. (구독 전에는 아무것도 실행하지 않음)
+    private <T> Mono<T> serialized(long userId, Callable<T> callable) {
+        return Mono.fromFuture(() -> userTaskSerializer.submit(userId, callable));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> callable) {
+        return Mono.fromCallable(callable)
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class,
+                        e -> new PointOverloadedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
+    }
+}
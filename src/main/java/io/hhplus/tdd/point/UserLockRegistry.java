@@ -0,0 +1,122 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 락 저장소 (참조 카운트 방식)
+ * 락을 쓰려는 요청이 있는 동안만 유저의 락을 보관하고, 마지막 요청이 반납하면 바로 제거합니다.
+ * 따라서 보관되는 락의 수는 지금까지 본 유저 수가 아니라 동시에 처리 중인 유저 수를 넘지 않습니다.
+ * 같은 유저에 대해 참조가 남아 있는 동안은 항상 같은 락을 돌려주므로 유저별 상호 배제는 그대로 유지됩니다.
+ */
+@Component
+public class UserLockRegistry {
+
+    private final ConcurrentHashMap<Long, UserLock> locks = new ConcurrentHashMap<>();
+
+    /// 유저의 락을 참조합니다. 반드시 release 로 반납해야 합니다. (락을 잡지는 않습니다.)
+    public UserLock acquire(long userId) {
+        return locks.compute(userId, (id, userLock) -> {
+            if (userLock == null)
+                userLock = new UserLock(id);
+            userLock.references++;
+            return userLock;
+        });
+    }
+
+    /// 참조를 반납하고, 더 이상 참조하는 요청이 없으면 락을 제거합니다.
+    public void release(UserLock userLock) {
+        locks.computeIfPresent(userLock.userId, (id, current) -> {
+            // 참조 수는 compute 안에서만 바뀌므로 별도의 동기화가 필요 없습니다.
+            return --current.references == 0 ? null : current;
+        });
+    }
+
+    /// 참조 중인 요청이 있으면 그 유저의 락을, 없으면 null 을 반환합니다. (참조 수는 바꾸지 않습니다.)
+    UserLock peek(long userId) {
+        return locks.get(userId);
+    }
+
+    /// 현재 보관 중인 락의 수
+    public int size() {
+        return locks.size();
+    }
+
+    public static final class UserLock {
+        static final long UNKNOWN_BALANCE = Long.MIN_VALUE;
+
+        private final long userId;
+        private final ReentrantLock lock = new ReentrantLock();
+        // combining 모드에서 락을 기다리는 요청들
+        private final Queue<PendingCommand> pendingCommands = new ConcurrentLinkedQueue<>();
+        // 지금 락을 기다리는 요청 수 (admission 제한용)
+        private final AtomicInteger waiters = new AtomicInteger();
+        private int references;
+
+        // lock-free 충전 모드에서 이 락이 살아 있는 동안의 잔액 셀 (UNKNOWN_BALANCE 면 아직 읽지 않음)
+        // 참조가 남아 있는 동안만 보관되므로, 셀의 최신 값은 마지막 참조가 반납되기 전에 테이블에 저장됩니다.
+        private final AtomicLong balance = new AtomicLong(UNKNOWN_BALANCE);
+        private volatile long updateMillis;
+        // 테이블에 아직 저장하지 않은 변경이 있는지, 저장은 한 번에 한 스레드만
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final ReentrantLock persistLock = new ReentrantLock();
+
+        private UserLock(long userId) {
+            this.userId = userId;
+        }
+
+        public void lock() {
+            lock.lock();
+        }
+
+        /// 바로 잡을 수 있을 때만 락을 잡습니다.
+        public boolean tryLock() {
+            return lock.tryLock();
+        }
+
+        /// 최대 timeoutNanos 동안 락을 기다립니다.
+        public boolean tryLock(long timeoutNanos) throws InterruptedException {
+            return lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void unlock() {
+            lock.unlock();
+        }
+
+        AtomicInteger waiters() {
+            return waiters;
+        }
+
+        Queue<PendingCommand> pendingCommands() {
+            return pendingCommands;
+        }
+
+        AtomicLong balance() {
+            return balance;
+        }
+
+        long updateMillis() {
+            return updateMillis;
+        }
+
+        void updateMillis(long updateMillis) {
+            this.updateMillis = updateMillis;
+        }
+
+        AtomicBoolean dirty() {
+            return dirty;
+        }
+
+        ReentrantLock persistLock() {
+            return persistLock;
+        }
+    }
+}
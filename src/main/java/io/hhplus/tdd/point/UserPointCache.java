@@ -0,0 +1,137 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 잔액 캐시 (크기 제한 + LRU 방출)
+ * 모든 잔액 변경은 PointService 를 거치므로, 유저 락을 잡은 상태에서 charge/use 가 캐시를 갱신하면
+ * 캐시 적중 시 UserPointTable 을 조회하지 않아도 항상 최신 잔액을 돌려줄 수 있습니다.
+ * 락 경합을 줄이기 위해 유저 ID 기준으로 여러 세그먼트로 나누어 각각 LRU 로 관리합니다.
+ * 적중/실패/방출 횟수와 크기는 point.cache.* 지표로도 노출합니다.
+ */
+@Component
+public class UserPointCache implements MeterBinder {
+
+    private final Segment[] segments;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserPointCache(PointProperties pointProperties) {
+        int maxSize = Math.max(1, pointProperties.cache().maxSize());
+        // 세그먼트 수는 코어 수의 2배 근처의 2의 거듭제곱, 단 세그먼트당 최소 1건은 담을 수 있어야 합니다.
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2));
+        while (count > 1 && count > maxSize)
+            count >>= 1;
+        this.segments = new Segment[count];
+        this.mask = count - 1;
+        int perSegment = Math.max(1, maxSize / count);
+        for (int i = 0; i < count; i++)
+            segments[i] = new Segment(perSegment);
+    }
+
+    /// 캐시 조회 (적중/실패 횟수를 기록)
+    public UserPoint get(long userId) {
+        UserPoint userPoint = segmentOf(userId).get(userId);
+        if (userPoint == null)
+            misses.increment();
+        else
+            hits.increment();
+        return userPoint;
+    }
+
+    /// 적중/실패 횟수에 영향을 주지 않는 조회
+    UserPoint peek(long userId) {
+        return segmentOf(userId).get(userId);
+    }
+
+    /// 유저 락을 잡은 상태에서만 호출해야 테이블과 캐시가 어긋나지 않습니다.
+    public void put(UserPoint userPoint) {
+        segmentOf(userPoint.id()).put(userPoint);
+    }
+
+    public CacheStats stats() {
+        int size = 0;
+        for (Segment segment : segments)
+            size += segment.size();
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("point.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("point.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("point.cache.evictions", evictions, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("point.cache.size", this, cache -> cache.stats().size()).register(meterRegistry);
+    }
+
+    private Segment segmentOf(long userId) {
+        int hash = Long.hashCode(userId);
+        hash ^= (hash >>> 16);
+        return segments[hash & mask];
+    }
+
+    public record CacheStats(
+            long hits,
+            long misses,
+            long evictions,
+            int size
+    ) {
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, UserPoint> entries;
+
+        private Segment(int capacity) {
+            // accessOrder = true => 가장 오래 사용되지 않은 항목부터 방출
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                    if (size() <= capacity)
+                        return false;
+                    evictions.increment();
+                    return true;
+                }
+            };
+        }
+
+        UserPoint get(long userId) {
+            lock.lock();
+            try {
+                return entries.get(userId);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(UserPoint userPoint) {
+            lock.lock();
+            try {
+                entries.put(userPoint.id(), userPoint);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저별 작업 직렬화 (비동기)
+ * 유저마다 작업 줄(lane)을 두고, 한 유저의 작업은 들어온 순서대로 한 번에 하나씩만 executor 에 넘깁니다.
+ * 앞 작업이 끝나면 다음 작업을 넘기므로, 같은 유저의 작업을 기다리며 스레드가 락에서 블로킹되지 않습니다.
+ * 줄은 대기 중인 작업이 있는 동안만 보관하고, 마지막 작업이 끝나면 바로 제거합니다. (UserLockRegistry 와 같은 방식)
+ * 작업이 Busy 를 던지면 (다른 경로가 유저 락을 잡고 있는 경우 등) 줄의 맨 앞을 유지한 채 retryDelay 뒤에 다시 실행하므로,
+ * 스레드가 기다리지 않으면서도 같은 유저의 순서는 바뀌지 않습니다.
+ */
+final class UserTaskSerializer {
+
+    private final Executor executor;
+    private final int maxPending;
+    private final ScheduledExecutorService retryScheduler;
+    private final long retryDelayNanos;
+    private final ConcurrentHashMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    /// maxPending : 유저 한 명의 줄에 쌓일 수 있는 최대 작업 수 (0 이면 제한 없음)
+    UserTaskSerializer(Executor executor, int maxPending) {
+        this(executor, maxPending, null, 0);
+    }
+
+    /// retryScheduler : Busy 를 던진 작업을 retryDelayNanos 뒤에 다시 실행할 scheduler (없으면 바로 다시 실행)
+    UserTaskSerializer(Executor executor, int maxPending, ScheduledExecutorService retryScheduler, long retryDelayNanos) {
+        this.executor = executor;
+        this.maxPending = maxPending;
+        this.retryScheduler = retryScheduler;
+        this.retryDelayNanos = retryDelayNanos;
+    }
+
+    /// 작업을 유저의 줄 끝에 넣고, 작업 결과로 완료되는 future 를 반환합니다.
+    /// 줄이 가득 찼거나 executor 가 작업을 받지 않으면 PointOverloadedException 으로 완료됩니다.
+    <T> CompletableFuture<T> submit(long userId, Callable<T> callable) {
+        Task<T> task = new Task<>(callable);
+        boolean[] first = new boolean[1];
+        boolean[] rejected = new boolean[1];
+        Lane lane = lanes.compute(userId, (id, current) -> {
+            if (current == null)
+                current = new Lane();
+            // 줄 상태는 compute 안에서만 바뀌므로 별도의 동기화가 필요 없습니다.
+            if (maxPending > 0 && current.pending >= maxPending) {
+                rejected[0] = true;
+                return current;
+            }
+            current.tasks.add(task);
+            first[0] = ++current.pending == 1;
+            return current;
+        });
+        if (rejected[0])
+            task.future.completeExceptionally(overloaded());
+        else if (first[0])
+            drain(userId, lane);
+        return task.future;
+    }
+
+    /// 유저의 줄에 남은 작업이 없는지 (앞서 넣은 작업의 결과가 모두 반영되었는지)
+    boolean isIdle(long userId) {
+        return !lanes.containsKey(userId);
+    }
+
+    /// 지금 작업이 남아 있는 유저 수
+    int size() {
+        return lanes.size();
+    }
+
+    /// 줄의 다음 작업을 executor 에 넘깁니다.
+    private void drain(long userId, Lane lane) {
+        if (lane != null)
+            dispatch(userId, poll(userId, lane));
+    }
+
+    /// 작업을 executor 에 넘깁니다. 넘기지 못한 작업은 거절하고 그다음 작업으로 넘어갑니다.
+    private void dispatch(long userId, Task<?> first) {
+        Task<?> task = first;
+        while (task != null) {
+            Task<?> current = task;
+            try {
+                executor.execute(() -> run(userId, current));
+                return;
+            } catch (RejectedExecutionException e) {
+                current.future.completeExceptionally(overloaded());
+                Lane next = complete(userId);
+                task = next == null ? null : poll(userId, next);
+            }
+        }
+    }
+
+    /// 작업을 실행하고 다음 작업으로 넘어갑니다. 작업이 Busy 를 던지면 줄에서 빼지 않고 잠시 뒤에 같은 작업을 다시 넘깁니다.
+    private void run(long userId, Task<?> task) {
+        if (!task.run()) {
+            retry(userId, task);
+            return;
+        }
+        drain(userId, complete(userId));
+    }
+
+    private void retry(long userId, Task<?> task) {
+        if (retryScheduler == null) {
+            dispatch(userId, task);
+            return;
+        }
+        try {
+            retryScheduler.schedule(() -> dispatch(userId, task), retryDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            task.future.completeExceptionally(overloaded());
+            drain(userId, complete(userId));
+        }
+    }
+
+    private Task<?> poll(long userId, Lane lane) {
+        Task<?>[] task = new Task<?>[1];
+        lanes.computeIfPresent(userId, (id, current) -> {
+            task[0] = current.tasks.poll();
+            return current;
+        });
+        return task[0];
+    }
+
+    /// 작업 하나를 마칩니다. 남은 작업이 있으면 줄을, 없으면 줄을 제거하고 null 을 반환합니다.
+    private Lane complete(long userId) {
+        Lane[] next = new Lane[1];
+        lanes.computeIfPresent(userId, (id, lane) -> {
+            if (--lane.pending == 0)
+                return null;
+            next[0] = lane;
+            return lane;
+        });
+        return next[0];
+    }
+
+    private static PointOverloadedException overloaded() {
+        return new PointOverloadedException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    /// 작업을 지금은 처리할 수 없으니 잠시 뒤에 다시 실행해 달라는 신호 (stack trace 없이 하나만 사용)
+    static final class Busy extends RuntimeException {
+        static final Busy INSTANCE = new Busy();
+
+        private Busy() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class Lane {
+        private final Queue<Task<?>> tasks = new ArrayDeque<>();
+        private int pending;
+    }
+
+    private static final class Task<T> {
+        private final Callable<T> callable;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Task(Callable<T> callable) {
+            this.callable = callable;
+        }
+
+        /// 작업이 Busy 를 던졌으면 false (결과를 채우지 않음)
+        boolean run() {
+            try {
+                future.complete(callable.call());
+            } catch (Busy e) {
+                return false;
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.point.PointProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClusterMembershipTest {
+
+    private static final List<String> MEMBERS = List.of("http://node-a", "http://node-b", "http://node-c");
+
+    /**
+     * 빈 목록이나 현재보다 크지 않은 버전으로는 구성원 목록을 바꾸지 않아야 합니다. (400 으로 응답)
+     */
+    @Test
+    void 잘못된_구성원_목록_변경은_거절한다() {
+        ClusterMembership membership = membership("http://node-a");
+
+        assertThrows(InvalidClusterMembershipException.class, () -> membership.update(1, List.of()));
+        membership.update(2, MEMBERS.subList(0, 2));
+        assertThrows(InvalidClusterMembershipException.class, () -> membership.update(2, MEMBERS));
+        assertThrows(InvalidClusterMembershipException.class, () -> membership.update(1, MEMBERS));
+
+        assertEquals(2, membership.version());
+        assertEquals(MEMBERS.subList(0, 2), membership.members());
+    }
+
+    /**
+     * 목록에서 빠진 인스턴스는 어떤 유저도 맡지 않고, 모든 요청을 새 소유자에게 전달해야 합니다.
+     */
+    @Test
+    void 목록에서_빠진_인스턴스는_유저를_맡지_않는다() {
+        ClusterMembership membership = membership("http://node-c");
+
+        membership.update(1, MEMBERS.subList(0, 2));
+
+        for (long userId = 1; userId <= 1_000; userId++) {
+            assertFalse(membership.isLocal(userId));
+            assertNotEquals("http://node-c", membership.owner(userId));
+        }
+    }
+
+    /**
+     * 이전 소유자는 최근 버전부터 찾아야 하고, 요청을 받을 때의 버전으로 소유자를 정해야 합니다.
+     */
+    @Test
+    void 이전_버전의_소유자를_최근_버전부터_찾는다() {
+        ClusterMembership membership = membership("http://node-a");
+        long userId = 1;
+        while (!membership.owner(userId).equals("http://node-c"))
+            userId++;
+
+        membership.update(1, MEMBERS.subList(0, 2));
+        String owner = membership.owner(userId);
+        membership.update(2, List.of("http://node-a"));
+
+        assertEquals("http://node-c", membership.owner(0, userId));
+        assertEquals(owner, membership.owner(1, userId));
+        assertEquals("http://node-a", membership.owner(userId));
+        List<String> expected = owner.equals("http://node-a") ? List.of("http://node-c") : List.of(owner, "http://node-c");
+        assertEquals(expected, membership.previousOwners(2, userId));
+    }
+
+    /**
+     * 이전 버전으로 받은 요청이 끝나야 넘겨줄 수 있고, 목록을 바꾼 뒤에 받은 요청은 기다리지 않아야 합니다.
+     */
+    @Test
+    void 이전_버전으로_처리_중인_요청이_끝나야_넘겨준다() {
+        ClusterMembership membership = membership("http://node-a");
+        long old = membership.enter();
+        membership.update(1, MEMBERS.subList(0, 2));
+        long current = membership.enter();
+
+        assertEquals(0, old);
+        assertEquals(1, current);
+        assertFalse(membership.awaitDrained(1, Duration.ofMillis(50)));
+
+        membership.exit(old);
+        assertTrue(membership.awaitDrained(1, Duration.ofMillis(50)));
+        membership.exit(current);
+    }
+
+    private static ClusterMembership membership(String self) {
+        return new ClusterMembership(PointProperties.defaults().toBuilder()
+                .cluster(new PointProperties.Cluster(true, self, MEMBERS, 128, Duration.ofSeconds(10)))
+                .build());
+    }
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsistentHashRingTest {
+
+    private static final List<String> MEMBERS = List.of("http://node-a", "http://node-b", "http://node-c");
+
+    /**
+     * 가상 노드 덕분에 유저가 인스턴스마다 고르게 나뉘어야 합니다.
+     */
+    @Test
+    void 유저가_인스턴스에_고르게_나뉜다() {
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 128);
+        int users = 300_000;
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= users; userId++)
+            counts.merge(ring.owner(userId), 1, Integer::sum);
+
+        assertEquals(MEMBERS.size(), counts.size());
+        double expected = (double) users / MEMBERS.size();
+        counts.forEach((member, count) ->
+                assertTrue(Math.abs(count - expected) / expected < 0.2, member + " 배정 수: " + count));
+    }
+
+    /**
+     * 인스턴스 하나가 빠지면 그 인스턴스가 맡던 유저만 소유자가 바뀌어야 합니다.
+     */
+    @Test
+    void 인스턴스가_빠지면_그_인스턴스의_유저만_옮겨진다() {
+        ConsistentHashRing before = new ConsistentHashRing(MEMBERS, 128);
+        ConsistentHashRing after = new ConsistentHashRing(MEMBERS.subList(0, 2), 128);
+
+        for (long userId = 1; userId <= 100_000; userId++) {
+            String owner = before.owner(userId);
+            if (!owner.equals("http://node-c"))
+                assertEquals(owner, after.owner(userId));
+            else
+                assertNotEquals("http://node-c", after.owner(userId));
+        }
+    }
+
+    /**
+     * 구성원 순서와 관계없이 같은 목록이면 같은 소유자를 정해야 합니다. (인스턴스마다 같은 판단)
+     */
+    @Test
+    void 구성원_순서가_달라도_소유자는_같다() {
+        ConsistentHashRing ring = new ConsistentHashRing(MEMBERS, 128);
+        ConsistentHashRing reversed = new ConsistentHashRing(List.of("http://node-c", "http://node-a", "http://node-b"), 128);
+
+        for (long userId = 1; userId <= 10_000; userId++)
+            assertEquals(ring.owner(userId), reversed.owner(userId));
+    }
+
+    @Test
+    void 구성원이_없으면_소유자도_없다() {
+        assertNull(new ConsistentHashRing(List.of(), 128).owner(1L));
+    }
+}
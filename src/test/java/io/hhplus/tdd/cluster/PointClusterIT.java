@@ -0,0 +1,302 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.TddApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * localhost 의 서로 다른 포트에 인스턴스 3개를 띄워, 어느 인스턴스로 요청해도
+ * 유저를 맡은 인스턴스 한 곳에서 직렬화되어 처리되는지 확인합니다.
+ */
+public class PointClusterIT {
+
+    private static final int NODES = 3;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final List<String> members = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        List<Integer> ports = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            int port = freePort();
+            ports.add(port);
+            members.add("http://localhost:" + port);
+        }
+        for (int i = 0; i < NODES; i++) {
+            List<String> properties = new ArrayList<>(List.of(
+                    "server.port=" + ports.get(i),
+                    "spring.jmx.enabled=false",
+                    "point.cluster.enabled=true",
+                    "point.cluster.self=" + members.get(i)));
+            for (int m = 0; m < NODES; m++)
+                properties.add("point.cluster.members[" + m + "]=" + members.get(m));
+            contexts.add(new SpringApplicationBuilder(TddApplication.class)
+                    .properties(properties.toArray(String[]::new))
+                    .run());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    /**
+     * 여러 유저에게 세 인스턴스를 번갈아 거쳐 동시에 충전해도, 모든 충전이 유실 없이 반영되어야 합니다.
+     */
+    @Test
+    void 어느_인스턴스로_충전해도_모두_반영된다() throws Exception {
+        int users = 12;
+        int perUser = 60;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int u = 1; u <= users; u++) {
+            long userId = u;
+            for (int i = 0; i < perUser; i++) {
+                String node = members.get(i % NODES);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    assertEquals(200, send(node, "PATCH", "/point/" + userId + "/charge", "10").statusCode());
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> future : futures)
+            future.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        Set<String> owners = new HashSet<>();
+        for (long userId = 1; userId <= users; userId++) {
+            for (String node : members)
+                assertEquals(perUser * 10L, balance(node, userId), node + " 에서 조회한 유저 " + userId + " 잔액");
+            owners.add(contexts.get(0).getBean(ClusterMembership.class).owner(userId));
+        }
+        assertTrue(owners.size() > 1, "유저가 여러 인스턴스에 나뉘어야 합니다.");
+    }
+
+    /**
+     * 한 유저의 사용 요청을 여러 인스턴스로 동시에 보내도 잔액 이상으로 사용되면 안 됩니다.
+     */
+    @Test
+    void 인스턴스를_가로질러도_잔액_이상으로_사용되지_않는다() throws Exception {
+        long userId = 42L;
+        assertEquals(200, send(members.get(0), "PATCH", "/point/" + userId + "/charge", "1000").statusCode());
+
+        int requests = 150;
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            String node = members.get(i % NODES);
+            futures.add(pool.submit(() -> {
+                start.await();
+                if (send(node, "PATCH", "/point/" + userId + "/use", "10").statusCode() == 200)
+                    succeeded.incrementAndGet();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures)
+            future.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(100, succeeded.get());
+        for (String node : members)
+            assertEquals(0L, balance(node, userId));
+    }
+
+    /**
+     * 일괄 처리 요청은 유저 소유 인스턴스별로 나뉘어 처리되고, 결과는 요청 순서대로 돌아와야 합니다.
+     */
+    @Test
+    void 일괄_처리는_소유_인스턴스별로_나뉘어_처리된다() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (long userId = 1; userId <= 30; userId++)
+            body.append(userId == 1 ? "" : ",")
+                    .append("{\"userId\":").append(userId).append(",\"type\":\"CHARGE\",\"amount\":").append(userId).append('}');
+        body.append(']');
+
+        HttpResponse<String> response = send(members.get(1), "POST", "/point/batch", body.toString());
+
+        assertEquals(200, response.statusCode());
+        JsonNode results = objectMapper.readTree(response.body());
+        assertEquals(30, results.size());
+        for (int i = 0; i < 30; i++) {
+            assertTrue(results.get(i).get("success").asBoolean());
+            assertEquals(i + 1, results.get(i).get("userId").asLong());
+            assertEquals(i + 1, balance(members.get(2), i + 1));
+        }
+    }
+
+    /**
+     * 구성원 목록이 바뀌면 이후 요청은 새 목록 기준의 소유 인스턴스로 전달되어야 합니다.
+     */
+    @Test
+    void 구성원이_바뀌면_새_소유자에게_전달된다() throws Exception {
+        String removed = members.get(NODES - 1);
+        updateMembers(1, members.subList(0, NODES - 1));
+
+        ClusterMembership membership = contexts.get(0).getBean(ClusterMembership.class);
+        long userId = 1;
+        while (!membership.owner(userId).equals(members.get(1)))
+            userId++;
+
+        assertEquals(200, send(members.get(0), "PATCH", "/point/" + userId + "/charge", "500").statusCode());
+
+        assertEquals(500L, balance(members.get(0), userId));
+        assertEquals(500L, balance(members.get(1), userId));
+        assertFalse(membership.members().contains(removed));
+    }
+
+    /**
+     * 목록에서 빠지는 인스턴스가 맡던 유저를 미리 충전/사용해 두었으면, 목록이 바뀐 뒤 새 소유자에서 같은 잔액과 이력이 조회되어야 합니다.
+     * 빠진 인스턴스로 보낸 요청도 새 소유자에게 전달되어 같은 잔액을 봅니다.
+     */
+    @Test
+    void 소유자가_바뀐_유저의_잔액은_새_소유자로_옮겨진다() throws Exception {
+        String removed = members.get(NODES - 1);
+        ClusterMembership membership = contexts.get(0).getBean(ClusterMembership.class);
+        long userId = 1;
+        while (!membership.owner(userId).equals(removed))
+            userId++;
+        assertEquals(200, send(members.get(0), "PATCH", "/point/" + userId + "/charge", "500").statusCode());
+        assertEquals(200, send(members.get(1), "PATCH", "/point/" + userId + "/use", "200").statusCode());
+
+        updateMembers(1, members.subList(0, NODES - 1));
+        String newOwner = membership.owner(userId);
+
+        assertNotEquals(removed, newOwner);
+        assertEquals(300L, balance(newOwner, userId));
+        for (String node : members)
+            assertEquals(300L, balance(node, userId), node + " 에서 조회한 잔액");
+        HttpResponse<String> histories = send(newOwner, "GET", "/point/" + userId + "/histories", null);
+        assertEquals(200, histories.statusCode());
+        assertEquals(2, objectMapper.readTree(histories.body()).size());
+
+        assertEquals(200, send(removed, "PATCH", "/point/" + userId + "/use", "300").statusCode());
+        assertEquals(0L, balance(newOwner, userId));
+        assertEquals(409, send(members.get(0), "PATCH", "/point/" + userId + "/use", "1").statusCode());
+    }
+
+    /**
+     * 구성원 목록 버전이 서로 다른 동안에는 인스턴스 사이의 요청을 처리하지 않고 503 으로 거절해야 합니다. (한 유저를 두 인스턴스가 함께 맡지 않음)
+     * 현재보다 크지 않은 버전이나 빈 목록으로 바꾸려 하면 400 으로 거절해야 합니다.
+     */
+    @Test
+    void 구성원_버전이_다르면_인스턴스_사이_요청을_거절한다() throws Exception {
+        ClusterMembership membership = contexts.get(0).getBean(ClusterMembership.class);
+        long userId = 1;
+        while (!membership.owner(userId).equals(members.get(1)))
+            userId++;
+        assertEquals(200, send(members.get(1), "PUT", "/cluster/members?version=1",
+                objectMapper.writeValueAsString(members)).statusCode());
+
+        assertEquals(503, send(members.get(0), "PATCH", "/point/" + userId + "/charge", "100").statusCode());
+
+        assertEquals(200, send(members.get(0), "PUT", "/cluster/members?version=1",
+                objectMapper.writeValueAsString(members)).statusCode());
+        assertEquals(200, send(members.get(0), "PATCH", "/point/" + userId + "/charge", "100").statusCode());
+        assertEquals(100L, balance(members.get(1), userId));
+
+        HttpResponse<String> stale = send(members.get(0), "PUT", "/cluster/members?version=1", objectMapper.writeValueAsString(members));
+        assertEquals(400, stale.statusCode());
+        assertEquals("400", objectMapper.readTree(stale.body()).get("code").asText());
+        assertEquals(400, send(members.get(0), "PUT", "/cluster/members?version=2", "[]").statusCode());
+    }
+
+    /**
+     * 논블로킹 API(/reactive/point) 요청도 유저를 맡은 인스턴스로 전달되어, 어느 인스턴스에서 조회해도 같은 잔액이어야 합니다.
+     */
+    @Test
+    void 논블로킹_API_요청도_소유_인스턴스로_전달된다() throws Exception {
+        ClusterMembership membership = contexts.get(0).getBean(ClusterMembership.class);
+        long userId = 1;
+        while (!membership.owner(userId).equals(members.get(1)))
+            userId++;
+
+        assertEquals(200, send(members.get(0), "PATCH", "/reactive/point/" + userId + "/charge", "300").statusCode());
+        assertEquals(200, send(members.get(2), "PATCH", "/reactive/point/" + userId + "/use", "100").statusCode());
+
+        for (String node : members)
+            assertEquals(200L, balance(node, userId), node + " 에서 조회한 잔액");
+    }
+
+    /**
+     * 받는 유저를 다른 인스턴스가 맡고 있으면 이체는 501 로 거절되고, 두 유저의 잔액은 바뀌지 않아야 합니다.
+     */
+    @Test
+    void 다른_인스턴스가_맡은_유저에게는_이체하지_않는다() throws Exception {
+        ClusterMembership membership = contexts.get(0).getBean(ClusterMembership.class);
+        long fromUserId = 1;
+        while (!membership.owner(fromUserId).equals(members.get(1)))
+            fromUserId++;
+        long toUserId = 1;
+        while (!membership.owner(toUserId).equals(members.get(2)))
+            toUserId++;
+        assertEquals(200, send(members.get(0), "PATCH", "/point/" + fromUserId + "/charge", "100").statusCode());
+
+        String body = "{\"toUserId\":" + toUserId + ",\"amount\":50}";
+        HttpResponse<String> response = send(members.get(0), "POST", "/point/" + fromUserId + "/transfer", body);
+
+        assertEquals(501, response.statusCode());
+        assertEquals("501", objectMapper.readTree(response.body()).get("code").asText());
+        assertEquals(100L, balance(members.get(0), fromUserId));
+        assertEquals(0L, balance(members.get(0), toUserId));
+    }
+
+    /// 목록에서 빠지는 인스턴스를 포함한 모든 인스턴스의 구성원 목록을 version 으로 바꿉니다.
+    private void updateMembers(long version, List<String> updated) throws Exception {
+        String body = objectMapper.writeValueAsString(updated);
+        for (String node : members)
+            assertEquals(200, send(node, "PUT", "/cluster/members?version=" + version, body).statusCode());
+    }
+
+    private long balance(String node, long userId) throws Exception {
+        HttpResponse<String> response = send(node, "GET", "/point/" + userId, null);
+        assertEquals(200, response.statusCode());
+        return objectMapper.readTree(response.body()).get("point").asLong();
+    }
+
+    private HttpResponse<String> send(String node, String method, String path, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(node + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
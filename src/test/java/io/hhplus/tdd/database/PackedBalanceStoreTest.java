@@ -0,0 +1,81 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.hhplus.tdd.point.PointTestSupport.usedHeap;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackedBalanceStoreTest {
+
+    @Test
+    void 신규_유저는_0_포인트를_반환한다() {
+        PackedBalanceStore store = new PackedBalanceStore(PointProperties.defaults());
+
+        UserPoint userPoint = store.selectById(1L);
+
+        assertEquals(1L, userPoint.id());
+        assertEquals(0L, userPoint.point());
+        assertEquals(0, store.size());
+    }
+
+    /**
+     * 초기 용량을 훨씬 넘게 저장해도(재해시) 모든 유저의 최신 잔액이 남아 있어야 합니다.
+     * 음수, 0, Long.MIN_VALUE 같은 특이한 ID 도 일반 키로 다룹니다.
+     */
+    @Test
+    void 용량을_넘겨_저장해도_모든_잔액이_유지된다() {
+        PackedBalanceStore store = new PackedBalanceStore(
+                PointProperties.defaults().toBuilder().store(new PointProperties.Store("packed", 16)).build());
+        int users = 100_000;
+        for (long userId = 0; userId < users; userId++)
+            store.insertOrUpdate(userId, userId);
+        for (long userId = 0; userId < users; userId += 2)
+            store.insertOrUpdate(userId, userId * 10);
+        store.insertOrUpdate(-1L, 7L);
+        store.insertOrUpdate(Long.MIN_VALUE, 8L);
+
+        assertEquals(users + 2, store.size());
+        for (long userId = 0; userId < users; userId++)
+            assertEquals(userId % 2 == 0 ? userId * 10 : userId, store.selectById(userId).point());
+        assertEquals(7L, store.selectById(-1L).point());
+        assertEquals(8L, store.selectById(Long.MIN_VALUE).point());
+    }
+
+    /**
+     * UserPointTable 과 같은 구조(HashMap<Long, UserPoint>)와 유저당 힙 사용량을 비교합니다.
+     * 기본 100만 유저, -Pfootprint.users=10000000 으로 1,000만 유저까지 측정할 수 있습니다. (힙 2GB 이상 필요)
+     * UserPointTable 은 insert 마다 sleep 하므로 같은 자료구조를 직접 채워서 비교합니다.
+     */
+    @Test
+    void 유저당_메모리_사용량이_HashMap_보다_작다() {
+        int users = Integer.getInteger("footprint.users", 1_000_000);
+
+        long before = usedHeap();
+        Map<Long, UserPoint> table = new HashMap<>();
+        for (long userId = 1; userId <= users; userId++)
+            table.put(userId, new UserPoint(userId, userId, userId));
+        long hashMapBytes = usedHeap() - before;
+        assertEquals(users, table.size());
+        table = null;
+
+        before = usedHeap();
+        PackedBalanceStore store = new PackedBalanceStore(
+                PointProperties.defaults().toBuilder().store(new PointProperties.Store("packed", users / 3 * 4)).build());
+        for (long userId = 1; userId <= users; userId++)
+            store.insertOrUpdate(userId, userId);
+        long packedBytes = usedHeap() - before;
+        assertEquals(users, store.size());
+
+        System.out.printf("users=%d, HashMap=%d bytes/user, packed=%d bytes/user%n",
+                users, hashMapBytes / users, packedBytes / users);
+        // HashMap 은 유저마다 Long, Node, UserPoint 세 객체(약 90바이트 이상)를 만들지만
+        // packed 는 long 3개 슬롯(24바이트)에 빈 슬롯 여유분만 더해집니다.
+        assertTrue(packedBytes * 3 < hashMapBytes * 2,
+                "packed=" + packedBytes + " bytes, HashMap=" + hashMapBytes + " bytes");
+    }
+}
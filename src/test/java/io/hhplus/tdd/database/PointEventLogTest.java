@@ -0,0 +1,225 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointEventLogTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 재시작하면 마지막 스냅샷 이후의 저널만 다시 적용해 잔액을 복구하고, 이력은 저널 전체에서 순서대로 읽힙니다.
+     */
+    @Test
+    void 재시작하면_스냅샷과_저널로_잔액과_이력이_복구된다() {
+        PointEventLog eventLog = open(10, 1 << 10);
+        for (long id = 1; id <= 25; id++) {
+            long userId = id % 3;
+            eventLog.append(new PointHistory(id, userId, id, TransactionType.CHARGE, id), id * 100);
+            eventLog.sync();
+        }
+        eventLog.close();
+
+        PointEventLog reopened = open(10, 1 << 10);
+        Map<Long, Long> balances = new HashMap<>();
+        reopened.forEachBalance((userId, point, updateMillis) -> balances.put(userId, point));
+        List<PointHistory> histories = new ArrayList<>();
+        reopened.replayHistories(histories::add);
+
+        assertEquals(25, reopened.size());
+        assertTrue(reopened.snapshotSeq() >= 10, "스냅샷이 저장되어 있어야 한다. 번호=" + reopened.snapshotSeq());
+        assertEquals(Map.of(0L, 2400L, 1L, 2500L, 2L, 2300L), balances);
+        assertEquals(25, histories.size());
+        assertEquals(new PointHistory(25, 1L, 25, TransactionType.CHARGE, 25), histories.get(24));
+        reopened.close();
+    }
+
+    /**
+     * 기록 도중 끊긴(체크섬이 맞지 않는) 레코드부터는 버리고, 그 자리부터 이어서 기록합니다.
+     */
+    @Test
+    void 끊긴_레코드_이후는_버리고_이어서_기록한다() throws IOException {
+        PointEventLog eventLog = open(1_000, 1 << 10);
+        for (long id = 1; id <= 3; id++)
+            eventLog.append(new PointHistory(id, 1L, 10, TransactionType.CHARGE, id), id * 10);
+        eventLog.close();
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.filter(file -> file.getFileName().toString().startsWith("journal-")).findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(2L * PointEventLog.RECORD_BYTES + 16);
+            file.writeLong(999L); // 세 번째 레코드의 amount 만 바뀐 상태 (체크섬 불일치)
+        }
+
+        PointEventLog reopened = open(1_000, 1 << 10);
+        assertEquals(2, reopened.size());
+        reopened.append(new PointHistory(3, 1L, 5, TransactionType.USE, 3), 15);
+        reopened.close();
+
+        PointEventLog again = open(1_000, 1 << 10);
+        long[] balance = new long[1];
+        again.forEachBalance((userId, point, updateMillis) -> balance[0] = point);
+        assertEquals(3, again.size());
+        assertEquals(15, balance[0]);
+        again.close();
+    }
+
+    /**
+     * 수백만 건의 이벤트를 여러 스레드에서 group commit 으로 기록하고,
+     * 스냅샷 + 저널 뒷부분으로 복구하는 시간과 저널 전체를 다시 읽는 시간을 비교합니다.
+     * 기본 200만 건, -Djournal.events 로 조정할 수 있습니다.
+     */
+    @Test
+    void 수백만_건을_기록하고_스냅샷으로_빠르게_복구한다() throws Exception {
+        int events = Integer.getInteger("journal.events", 2_000_000);
+        int threads = 8;
+        int users = 100_000;
+        int syncEvery = 64;
+        PointEventLog eventLog = open(events / 4, 64 << 20);
+
+        // 스레드마다 서로 다른 유저를 맡아 유저별 이벤트 순서를 보장합니다.
+        long[] expected = new long[users];
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int n = thread; n < events; n += threads) {
+                    int userId = (n / threads * threads + thread) % users;
+                    expected[userId] += 1;
+                    eventLog.append(new PointHistory(n + 1, userId, 1, TransactionType.CHARGE, n), expected[userId]);
+                    if (n / threads % syncEvery == 0)
+                        eventLog.sync();
+                }
+                eventLog.sync();
+                return null;
+            }));
+        }
+        long writeStart = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures)
+            future.get();
+        long writeNanos = System.nanoTime() - writeStart;
+        pool.shutdown();
+        eventLog.close();
+
+        long recoverStart = System.nanoTime();
+        PointEventLog reopened = open(events / 4, 64 << 20);
+        long recoverNanos = System.nanoTime() - recoverStart;
+
+        long replayStart = System.nanoTime();
+        long[] replayed = new long[1];
+        reopened.replayHistories(pointHistory -> replayed[0]++);
+        long replayNanos = System.nanoTime() - replayStart;
+
+        long[] recovered = new long[users];
+        reopened.forEachBalance((userId, point, updateMillis) -> recovered[(int) userId] = point);
+
+        System.out.printf("events=%d, write=%d events/s, recover(snapshot %d + tail %d)=%dms, full journal scan=%dms%n",
+                events, events * 1_000_000_000L / writeNanos, reopened.snapshotSeq(), events - reopened.snapshotSeq(),
+                recoverNanos / 1_000_000, replayNanos / 1_000_000);
+        assertEquals(events, reopened.size());
+        assertEquals(events, replayed[0]);
+        assertTrue(reopened.snapshotSeq() > 0, "스냅샷부터 복구해야 한다.");
+        assertArrayEquals(expected, recovered);
+        reopened.close();
+    }
+
+    /**
+     * 이력을 복구하지 않으면 바로 앞 스냅샷보다 앞선 세그먼트는 지워지고, 남은 스냅샷과 저널만으로 잔액이 복구되어야 합니다.
+     */
+    @Test
+    void 이력을_복구하지_않으면_오래된_세그먼트를_지운다() throws IOException {
+        // 세그먼트당 21건, 자동 스냅샷은 만들지 않고 직접 저장합니다.
+        PointEventLog eventLog = open(1_000_000, 1 << 10, false);
+        for (long id = 1; id <= 200; id++) {
+            eventLog.append(new PointHistory(id, id % 3, id, TransactionType.CHARGE, id), id * 100);
+            if (id == 100)
+                eventLog.snapshot();
+        }
+        eventLog.sync();
+        eventLog.snapshot();
+        eventLog.close();
+
+        List<Path> journals;
+        try (var files = Files.list(directory)) {
+            journals = files.filter(file -> file.getFileName().toString().startsWith("journal-")).sorted().toList();
+        }
+        // 100 번 스냅샷 이전 레코드만 담긴 0, 21, 42, 63 세그먼트가 지워집니다.
+        assertEquals(10 - 4, journals.size());
+        assertEquals(directory.resolve(String.format("journal-%020d.log", 84)), journals.get(0));
+
+        PointEventLog reopened = open(1_000_000, 1 << 10, false);
+        Map<Long, Long> balances = new HashMap<>();
+        reopened.forEachBalance((userId, point, updateMillis) -> balances.put(userId, point));
+        assertEquals(200, reopened.size());
+        assertEquals(Map.of(0L, 19800L, 1L, 19900L, 2L, 20000L), balances);
+        assertEquals(200, reopened.lastHistoryId());
+        reopened.close();
+    }
+
+    /**
+     * 묶음(이체의 출금/입금)의 레코드 중 하나라도 끊겼으면 묶음 전체를 버려, 한쪽만 복구되는 일이 없어야 합니다.
+     */
+    @Test
+    void 묶음의_일부만_남았으면_묶음_전체를_버린다() throws IOException {
+        PointEventLog eventLog = open(1_000, 1 << 10);
+        eventLog.append(new PointHistory(1, 1L, 100, TransactionType.CHARGE, 1), 100);
+        eventLog.appendAll(List.of(
+                new PointHistory(2, 1L, 30, TransactionType.USE, 2),
+                new PointHistory(3, 2L, 30, TransactionType.CHARGE, 2)), 70, 30);
+        eventLog.close();
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.filter(file -> file.getFileName().toString().startsWith("journal-")).findFirst().orElseThrow();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(2L * PointEventLog.RECORD_BYTES + 16);
+            file.writeLong(999L); // 묶음의 두 번째 레코드(입금)만 손상된 상태
+        }
+
+        PointEventLog reopened = open(1_000, 1 << 10);
+        Map<Long, Long> balances = new HashMap<>();
+        reopened.forEachBalance((userId, point, updateMillis) -> balances.put(userId, point));
+        List<PointHistory> histories = new ArrayList<>();
+        reopened.replayHistories(histories::add);
+
+        assertEquals(1, reopened.size());
+        assertEquals(Map.of(1L, 100L), balances);
+        assertEquals(1, histories.size());
+        assertEquals(1, reopened.lastHistoryId());
+        reopened.close();
+    }
+
+    private PointEventLog open(long snapshotInterval, int segmentSize) {
+        return open(snapshotInterval, segmentSize, true);
+    }
+
+    private PointEventLog open(long snapshotInterval, int segmentSize, boolean restoreHistory) {
+        PointProperties properties = PointProperties.defaults().toBuilder().durability(
+                new PointProperties.Durability(true, directory.toString(), segmentSize, snapshotInterval, restoreHistory)).build();
+        return new PointEventLog(properties);
+    }
+}
@@ -0,0 +1,72 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static io.hhplus.tdd.point.PointTestSupport.usedHeap;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointHistoryColumnsTest {
+
+    /**
+     * 청크 경계를 넘나들며 중간에 끼워 넣어도 ArrayList 에 같은 순서로 넣은 결과와 같아야 합니다.
+     */
+    @Test
+    void 중간_삽입을_포함해도_행_순서와_값이_유지된다() {
+        PointHistoryColumns columns = new PointHistoryColumns();
+        List<PointHistory> expected = new ArrayList<>();
+        Random random = new Random(7);
+        int rows = PointHistoryColumns.CHUNK_ROWS * 3 + 17;
+
+        for (int i = 0; i < rows; i++) {
+            PointHistory pointHistory = new PointHistory(i + 1, 1L, random.nextInt(1_000_000),
+                    random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE, random.nextLong());
+            int index = random.nextInt(10) == 0 ? random.nextInt(expected.size() + 1) : expected.size();
+            columns.insert(index, pointHistory);
+            expected.add(index, pointHistory);
+        }
+
+        assertEquals(rows, columns.size());
+        for (int i = 0; i < rows; i++) {
+            assertEquals(expected.get(i), columns.row(1L, i));
+            assertEquals(expected.get(i).id(), columns.id(i));
+            assertEquals(expected.get(i).updateMillis(), columns.updateMillis(i));
+        }
+    }
+
+    /**
+     * 현재 구조(ArrayList<PointHistory>)와 이력 한 건당 힙 사용량을 비교합니다.
+     * 기본 200만 건, -Pfootprint.rows=100000000 으로 늘릴 수 있습니다. (힙 4GB 이상 필요)
+     */
+    @Test
+    void 이력당_메모리_사용량이_ArrayList_보다_작다() {
+        int rows = Integer.getInteger("footprint.rows", 2_000_000);
+
+        long before = usedHeap();
+        List<PointHistory> list = new ArrayList<>();
+        for (int i = 0; i < rows; i++)
+            list.add(new PointHistory(i + 1, 1L, i, TransactionType.values()[i & 1], i));
+        long listBytes = usedHeap() - before;
+        assertEquals(rows, list.size());
+        list = null;
+
+        before = usedHeap();
+        PointHistoryColumns columns = new PointHistoryColumns();
+        for (int i = 0; i < rows; i++)
+            columns.insert(i, new PointHistory(i + 1, 1L, i, TransactionType.values()[i & 1], i));
+        long columnBytes = usedHeap() - before;
+        assertEquals(rows, columns.size());
+
+        System.out.printf("rows=%d, ArrayList<PointHistory>=%.1f bytes/row, columns=%.1f bytes/row%n",
+                rows, (double) listBytes / rows, (double) columnBytes / rows);
+        // PointHistory 한 건은 객체 헤더 + long 4개 + enum 참조(약 48바이트)에 리스트 슬롯까지 더해지지만
+        // 열 구조는 long 3개와 byte 1개(25바이트)뿐입니다.
+        assertTrue(columnBytes * 3 < listBytes * 2,
+                "columns=" + columnBytes + " bytes, ArrayList=" + listBytes + " bytes");
+    }
+}
@@ -0,0 +1,109 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointHistoryJournalTest {
+
+    /**
+     * append 는 테이블 기록을 기다리지 않고, flush 이후에는 미리 부여한 id 그대로 테이블에 기록되어 있어야 합니다.
+     */
+    @Test
+    void flush_이후_테이블에_같은_id로_기록된다() {
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryJournal journal = new PointHistoryJournal(pointHistoryTable, PointProperties.defaults(), new PointMetrics(new SimpleMeterRegistry()));
+        long userId = 1L;
+
+        List<PointHistory> appended = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            appended.add(journal.append(userId, i + 1, TransactionType.CHARGE, i));
+        journal.flush();
+
+        assertEquals(0, journal.pending());
+        assertEquals(appended, pointHistoryTable.selectAllByUserId(userId));
+        journal.close();
+    }
+
+    /**
+     * 종료된 저널에는 더 이상 이력을 넣을 수 없습니다.
+     */
+    @Test
+    void 종료된_저널에는_append_할_수_없다() {
+        PointHistoryJournal journal = new PointHistoryJournal(new PointHistoryTable(), PointProperties.defaults(), new PointMetrics(new SimpleMeterRegistry()));
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> journal.append(1L, 100L, TransactionType.CHARGE, 0L));
+    }
+
+    /**
+     * 테이블 기록이 막혀 큐가 한도를 넘어도 append 는 기다리지 않고, 한도는 hasCapacity 로 알려야 합니다.
+     * 기록이 풀리면 밀린 이력이 id 순서대로 모두 기록됩니다.
+     */
+    @Test
+    void 테이블_기록이_밀려도_append_는_기다리지_않는다() {
+        BlockingPointHistoryTable pointHistoryTable = new BlockingPointHistoryTable();
+        PointHistoryJournal journal = new PointHistoryJournal(pointHistoryTable, properties(2, Duration.ofSeconds(30)),
+                new PointMetrics(new SimpleMeterRegistry()));
+
+        List<PointHistory> appended = new ArrayList<>();
+        assertTimeout(Duration.ofSeconds(1), () -> {
+            for (int i = 0; i < 10; i++)
+                appended.add(journal.append(1L, i + 1, TransactionType.CHARGE, i));
+        });
+        assertFalse(journal.hasCapacity(1));
+
+        pointHistoryTable.release.countDown();
+        assertTrue(journal.flush());
+        assertTrue(journal.hasCapacity(1));
+        assertEquals(appended, pointHistoryTable.selectAllByUserId(1L));
+        journal.close();
+    }
+
+    /**
+     * flush 와 종료는 정해진 시간까지만 기다리고, 그 안에 기록하지 못한 이력은 남은 건수로 알 수 있어야 합니다.
+     */
+    @Test
+    void flush_와_종료는_시간_제한까지만_기다린다() {
+        BlockingPointHistoryTable pointHistoryTable = new BlockingPointHistoryTable();
+        PointHistoryJournal journal = new PointHistoryJournal(pointHistoryTable, properties(10, Duration.ofMillis(200)),
+                new PointMetrics(new SimpleMeterRegistry()));
+        for (int i = 0; i < 3; i++)
+            journal.append(1L, i + 1, TransactionType.CHARGE, i);
+
+        assertFalse(journal.flush(Duration.ofMillis(50)));
+        assertTimeout(Duration.ofSeconds(2), journal::close);
+        assertTrue(journal.pending() > 0, "기록하지 못한 이력이 남아 있어야 한다. 남은 건수=" + journal.pending());
+        pointHistoryTable.release.countDown();
+    }
+
+    private static PointProperties properties(int journalCapacity, Duration flushTimeout) {
+        return PointProperties.defaults().toBuilder()
+                .history(new PointProperties.History(journalCapacity, flushTimeout)).build();
+    }
+
+    /// release 가 열릴 때까지 기록하지 못하는 테이블 (작성자 스레드가 인터럽트되면 바로 기록)
+    static class BlockingPointHistoryTable extends PointHistoryTable {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.insert(userId, amount, type, updateMillis);
+        }
+    }
+}
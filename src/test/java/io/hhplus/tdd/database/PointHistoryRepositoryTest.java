@@ -0,0 +1,216 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryCursor;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointSummaryBucket;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.hhplus.tdd.point.PointTestSupport.usedHeap;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointHistoryRepositoryTest {
+
+    private PointHistoryJournal pointHistoryJournal;
+    private PointHistoryRepository pointHistoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        this.pointHistoryJournal = new PointHistoryJournal(new PointHistoryTable(), PointProperties.defaults(), new PointMetrics(new SimpleMeterRegistry()));
+        this.pointHistoryRepository = new PointHistoryRepository(pointHistoryJournal);
+    }
+
+    /**
+     * 시간이 뒤섞여 저장되더라도 조회 결과는 최신순이어야 합니다.
+     */
+    @Test
+    void 유저별_이력은_정렬없이_최신순으로_조회된다() {
+        long userId = 1L;
+        pointHistoryRepository.insert(userId, 100L, TransactionType.CHARGE, 10L);
+        pointHistoryRepository.insert(userId, 50L, TransactionType.USE, 30L);
+        pointHistoryRepository.insert(userId, 70L, TransactionType.CHARGE, 20L);
+
+        List<PointHistory> history = pointHistoryRepository.selectAllByUserId(userId);
+
+        assertEquals(List.of(30L, 20L, 10L), history.stream().map(PointHistory::updateMillis).toList());
+    }
+
+    /**
+     * 다른 유저의 이력은 조회 결과에 섞이지 않아야 합니다.
+     */
+    @Test
+    void 다른_유저의_이력은_섞이지_않는다() {
+        pointHistoryRepository.insert(1L, 100L, TransactionType.CHARGE, 10L);
+        pointHistoryRepository.insert(2L, 200L, TransactionType.CHARGE, 20L);
+
+        List<PointHistory> history = pointHistoryRepository.selectAllByUserId(1L);
+
+        assertEquals(1, history.size());
+        assertEquals(100L, history.get(0).amount());
+        assertTrue(pointHistoryRepository.selectAllByUserId(3L).isEmpty());
+    }
+
+    /**
+     * 커서를 따라가면 이력을 빠짐없이, 중복없이 최신순으로 모두 조회할 수 있어야 합니다.
+     */
+    @Test
+    void 커서를_따라가면_전체_이력을_최신순으로_조회한다() {
+        long userId = 1L;
+        for (long millis = 1; millis <= 5; millis++)
+            pointHistoryRepository.insert(userId, millis, TransactionType.CHARGE, millis);
+
+        PointHistoryPage first = pointHistoryRepository.selectPageByUserId(userId, null, 2, null, null);
+        PointHistoryPage second = pointHistoryRepository.selectPageByUserId(userId, PointHistoryCursor.parse(first.nextCursor()), 2, null, null);
+        PointHistoryPage last = pointHistoryRepository.selectPageByUserId(userId, PointHistoryCursor.parse(second.nextCursor()), 2, null, null);
+
+        assertEquals(List.of(5L, 4L), first.histories().stream().map(PointHistory::updateMillis).toList());
+        assertEquals(List.of(3L, 2L), second.histories().stream().map(PointHistory::updateMillis).toList());
+        assertEquals(List.of(1L), last.histories().stream().map(PointHistory::updateMillis).toList());
+        assertNull(last.nextCursor());
+    }
+
+    /**
+     * from/to 가 주어지면 updateMillis 가 범위 안인 이력만 조회되어야 합니다.
+     */
+    @Test
+    void 기간을_지정하면_범위_안의_이력만_조회한다() {
+        long userId = 1L;
+        for (long millis = 1; millis <= 5; millis++)
+            pointHistoryRepository.insert(userId, millis, TransactionType.CHARGE, millis * 10);
+
+        PointHistoryPage page = pointHistoryRepository.selectPageByUserId(userId, null, 10, 20L, 40L);
+
+        assertEquals(List.of(40L, 30L, 20L), page.histories().stream().map(PointHistory::updateMillis).toList());
+        assertNull(page.nextCursor());
+    }
+
+    /**
+     * 요약은 이력을 저장할 때 갱신된 합계로, 전체 합계와 시간/일 단위 버킷(최신순)을 돌려줘야 합니다.
+     */
+    @Test
+    void 요약은_전체_합계와_시간별_일별_합계를_반환한다() {
+        long userId = 1L;
+        long hour = PointSummaryAggregate.HOUR_MILLIS;
+        long day = PointSummaryAggregate.DAY_MILLIS;
+        pointHistoryRepository.insert(userId, 100L, TransactionType.CHARGE, 10L);
+        pointHistoryRepository.insert(userId, 30L, TransactionType.USE, hour + 10L);
+        pointHistoryRepository.insert(userId, 50L, TransactionType.CHARGE, day + 10L);
+        pointHistoryRepository.insert(userId, 20L, TransactionType.CHARGE, 20L); // 시계가 뒤로 간 이력
+
+        PointSummary summary = pointHistoryRepository.selectSummaryByUserId(userId, day + 20L);
+
+        assertEquals(new PointSummary(userId, 170L, 3L, 30L, 1L,
+                        List.of(new PointSummaryBucket(day, 50L, 1L, 0L, 0L),
+                                new PointSummaryBucket(hour, 0L, 0L, 30L, 1L),
+                                new PointSummaryBucket(0L, 120L, 2L, 0L, 0L)),
+                        List.of(new PointSummaryBucket(day, 50L, 1L, 0L, 0L),
+                                new PointSummaryBucket(0L, 120L, 2L, 30L, 1L))),
+                summary);
+    }
+
+    /**
+     * 보관 범위를 벗어난 버킷은 제거되거나 조회되지 않지만, 전체 합계에는 계속 남아 있어야 합니다.
+     */
+    @Test
+    void 보관_범위를_벗어난_버킷은_요약에서_빠진다() {
+        long userId = 1L;
+        long hour = PointSummaryAggregate.HOUR_MILLIS;
+        for (int i = 0; i < 100; i++)
+            pointHistoryRepository.insert(userId, 1L, TransactionType.CHARGE, i * hour);
+
+        PointSummary summary = pointHistoryRepository.selectSummaryByUserId(userId, 99 * hour);
+        PointSummary later = pointHistoryRepository.selectSummaryByUserId(userId, 200 * hour);
+
+        assertEquals(100L, summary.chargeAmount());
+        assertEquals(PointSummaryAggregate.HOURLY_BUCKETS, summary.hourly().size());
+        assertEquals(99 * hour, summary.hourly().get(0).startMillis());
+        assertEquals(List.of(), later.hourly());
+        assertEquals(100L, later.chargeAmount());
+        assertEquals(PointSummary.empty(2L), pointHistoryRepository.selectSummaryByUserId(2L, 0L));
+    }
+
+    /**
+     * 내보내기는 유저별 인덱스를 id 순서로 합쳐 읽어야 합니다. 유저마다 행 순서가 id 순서와 달라도(복구 등) 빠짐없이 id 순서여야 합니다.
+     */
+    @Test
+    void 내보내기는_유저별_이력을_id_순서로_합친다() {
+        pointHistoryRepository.restore(new PointHistory(3L, 1L, 30L, TransactionType.CHARGE, 10L));
+        pointHistoryRepository.restore(new PointHistory(1L, 1L, 10L, TransactionType.CHARGE, 20L));
+        pointHistoryRepository.restore(new PointHistory(2L, 2L, 20L, TransactionType.CHARGE, 5L));
+        pointHistoryRepository.restore(new PointHistory(4L, 2L, 40L, TransactionType.USE, 30L));
+        pointHistoryJournal.resumeAfter(4L);
+        pointHistoryRepository.insert(1L, 50L, TransactionType.USE, 0L);
+
+        List<Long> ids = new ArrayList<>();
+        assertEquals(5, pointHistoryRepository.exportAfter(0, pointHistory -> ids.add(pointHistory.id())));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+
+        ids.clear();
+        assertEquals(3, pointHistoryRepository.exportAfter(2, pointHistory -> ids.add(pointHistory.id())));
+        assertEquals(List.of(3L, 4L, 5L), ids);
+    }
+
+    /**
+     * 내보내기는 이력 사본을 만들지 않으므로, 이력이 10배 많아도 내보내는 도중 늘어나는 힙은 일정해야 합니다.
+     * (50만 건을 PointHistory 로 모아 두기만 해도 20MB 이상이므로, 다른 스레드가 만드는 잡음을 감안해 4MB 로 잽니다.)
+     */
+    @Test
+    void 내보내기_중_힙_사용량은_이력_수와_상관없이_일정하다() {
+        long small = exportHeapGrowth(50_000, 100);
+        long large = exportHeapGrowth(500_000, 100);
+
+        assertTrue(small < 4 * 1024 * 1024, "small=" + small);
+        assertTrue(large < 4 * 1024 * 1024, "large=" + large);
+    }
+
+    /**
+     * 내보내기는 유저마다 커서를 두지 않고 id 열을 차례로 읽으므로, 유저가 1000배 많아도 내보내는 도중 늘어나는 힙은 일정해야 합니다.
+     * (복구처럼 유저별 행 순서가 id 순서와 다른 경우도 함께 잽니다.)
+     */
+    @Test
+    void 내보내기_중_힙_사용량은_유저_수와_상관없이_일정하다() {
+        long few = exportHeapGrowth(200_000, 100);
+        long many = exportHeapGrowth(200_000, 100_000);
+
+        assertTrue(few < 4 * 1024 * 1024, "few=" + few);
+        assertTrue(many < 4 * 1024 * 1024, "many=" + many);
+    }
+
+    /// 유저 users 명에게 rows 건을 나눠 넣고, 내보내기 도중 힙 사용량이 시작 전/끝난 뒤의 평균보다 얼마나 많은지 잽니다.
+    /// 유저별 행 순서는 id 순서와 반대(updateMillis 가 id 가 클수록 작음)로 넣습니다.
+    /// 다른 스레드 때문에 늘어난 힙은 시작 전/끝난 뒤 평균으로 상쇄하고, 도중 세 지점 중 가장 적게 늘어난 값을 씁니다.
+    private long exportHeapGrowth(int rows, int users) {
+        PointHistoryJournal journal = new PointHistoryJournal(new PointHistoryTable(), PointProperties.defaults(), new PointMetrics(new SimpleMeterRegistry()));
+        PointHistoryRepository repository = new PointHistoryRepository(journal);
+        for (int id = 1; id <= rows; id++)
+            repository.restore(new PointHistory(id, id % users, 1L, TransactionType.CHARGE, rows - id));
+        journal.resumeAfter(rows);
+
+        long before = usedHeap();
+        long[] during = {Long.MAX_VALUE};
+        long[] count = new long[1];
+        long[] lastId = new long[1];
+        repository.exportAfter(0, pointHistory -> {
+            assertTrue(pointHistory.id() > lastId[0]);
+            lastId[0] = pointHistory.id();
+            long n = ++count[0];
+            if (n == rows / 4 || n == rows / 2 || n == rows / 4 * 3)
+                during[0] = Math.min(during[0], usedHeap());
+        });
+        assertEquals(rows, count[0]);
+        long after = usedHeap();
+        // 끝난 뒤를 잴 때까지 저장소가 수거되지 않아야 시작 전/끝난 뒤를 같은 조건으로 비교할 수 있습니다.
+        Reference.reachabilityFence(repository);
+        return during[0] - (before + after) / 2;
+    }
+}
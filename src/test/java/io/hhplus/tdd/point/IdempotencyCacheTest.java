@@ -0,0 +1,174 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyCacheTest {
+
+    private PointCombiningTest.CountingUserPointTable userPointTable;
+    private FakeTimeProvider timeProvider;
+    private PointServiceFixture fixture;
+    private IdempotencyCache idempotencyCache;
+
+    @BeforeEach
+    void setUp() {
+        this.userPointTable = new PointCombiningTest.CountingUserPointTable();
+        this.timeProvider = new FakeTimeProvider();
+        PointProperties properties = PointProperties.defaults()
+                .toBuilder().idempotency(new PointProperties.Idempotency(2, Duration.ofMinutes(10))).build();
+        this.fixture = new PointServiceFixture(userPointTable, timeProvider, properties);
+        this.idempotencyCache = new IdempotencyCache(timeProvider, properties);
+    }
+
+    /**
+     * 같은 키로 재시도하면 테이블과 이력을 건드리지 않고 처음 결과를 그대로 돌려줘야 합니다.
+     */
+    @Test
+    void 같은_키의_재시도는_다시_충전하지_않는다() {
+        long userId = 1L;
+        PointOperation operation = new PointOperation(userId, TransactionType.CHARGE, 100L);
+
+        UserPoint first = idempotencyCache.execute("key-1", operation, () -> fixture.pointService.charge(userId, 100L));
+        UserPoint retried = idempotencyCache.execute("key-1", operation, () -> fixture.pointService.charge(userId, 100L));
+
+        assertEquals(first, retried);
+        assertEquals(100L, fixture.pointService.getUserPoint(userId).point());
+        assertEquals(1, userPointTable.updates.get());
+        assertEquals(1, fixture.pointService.getUserPointHistories(userId).size());
+    }
+
+    /**
+     * 첫 요청이 처리 중일 때 들어온 재시도는 새로 처리하지 않고 첫 요청의 결과를 기다려야 합니다.
+     */
+    @Test
+    void 처리_중인_요청의_재시도는_결과를_기다린다() throws Exception {
+        PointOperation operation = new PointOperation(1L, TransactionType.CHARGE, 100L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        UserPoint expected = new UserPoint(1L, 100L, 0L);
+
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("key-1", operation, () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return expected;
+                }));
+        started.await();
+        CompletableFuture<UserPoint> retried = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("key-1", operation, () -> {
+                    executions.incrementAndGet();
+                    return new UserPoint(1L, 200L, 0L);
+                }));
+        Thread.sleep(100);
+        assertFalse(retried.isDone(), "첫 요청이 끝나기 전에는 기다려야 한다.");
+        release.countDown();
+
+        assertEquals(expected, first.get(5, TimeUnit.SECONDS));
+        assertEquals(expected, retried.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    /**
+     * 실패한 요청은 보관하지 않으므로 같은 키의 재시도는 다시 처리됩니다.
+     */
+    @Test
+    void 실패한_요청은_다시_처리된다() {
+        long userId = 1L;
+        PointOperation operation = new PointOperation(userId, TransactionType.USE, 100L);
+
+        assertThrows(RuntimeException.class,
+                () -> idempotencyCache.execute("key-1", operation, () -> fixture.pointService.use(userId, 100L)));
+        fixture.pointService.charge(userId, 100L);
+        UserPoint retried = idempotencyCache.execute("key-1", operation, () -> fixture.pointService.use(userId, 100L));
+
+        assertEquals(0L, retried.point());
+    }
+
+    /**
+     * 같은 키로 다른 요청을 보내면 거절해야 합니다.
+     */
+    @Test
+    void 같은_키로_다른_요청은_거절한다() {
+        idempotencyCache.execute("key-1", new PointOperation(1L, TransactionType.CHARGE, 100L), () -> new UserPoint(1L, 100L, 0L));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> idempotencyCache.execute("key-1",
+                new PointOperation(1L, TransactionType.CHARGE, 200L), () -> new UserPoint(1L, 300L, 0L)));
+    }
+
+    /**
+     * 최대 건수를 넘어도 처리 중인 키는 방출하지 않아야 합니다. (방출되면 재시도가 한 번 더 처리됨)
+     * 보관 중인 키가 모두 처리 중이면 새 키는 처리하지 않고 거절합니다.
+     */
+    @Test
+    void 처리_중인_키는_방출하지_않는다() {
+        PointOperation operation = new PointOperation(1L, TransactionType.CHARGE, 1L);
+        CompletableFuture<UserPoint> pending = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyCache.executeAsync("in-flight", operation, () -> {
+            executions.incrementAndGet();
+            return pending;
+        });
+        idempotencyCache.execute("key-1", operation, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+        idempotencyCache.execute("key-2", operation, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+
+        // key-1 이 방출되고 처리 중인 키는 남아 있으므로, 재시도는 새로 처리하지 않고 같은 결과를 기다립니다.
+        CompletableFuture<UserPoint> retried = idempotencyCache.executeAsync("in-flight", operation, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(new UserPoint(1L, -1L, 0L));
+        });
+        assertEquals(3, executions.get());
+        assertFalse(retried.isDone());
+
+        idempotencyCache.executeAsync("in-flight-2", operation, CompletableFuture::new);
+        assertThrows(PointOverloadedException.class,
+                () -> idempotencyCache.execute("key-3", operation, () -> new UserPoint(1L, executions.incrementAndGet(), 0L)));
+        assertEquals(3, executions.get());
+
+        pending.complete(new UserPoint(1L, 100L, 0L));
+        assertEquals(100L, retried.join().point());
+    }
+
+    /**
+     * 보관 기간이 지나거나 최대 건수를 넘으면 오래된 키부터 제거됩니다.
+     */
+    @Test
+    void 만료되거나_최대_건수를_넘은_키는_제거된다() {
+        PointOperation operation = new PointOperation(1L, TransactionType.CHARGE, 1L);
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyCache.execute("key-1", operation, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+        idempotencyCache.execute("key-2", operation, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+        idempotencyCache.execute("key-3", operation, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+        assertEquals(2, idempotencyCache.size());
+
+        // key-1 은 최대 건수(2)를 넘어 방출되었으므로 다시 처리됩니다.
+        idempotencyCache.execute("key-1", operation, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+        assertEquals(4, executions.get());
+
+        timeProvider.advance(Duration.ofMinutes(10).toMillis());
+        idempotencyCache.execute("key-3", operation, () -> new UserPoint(1L, executions.incrementAndGet(), 0L));
+        assertEquals(5, executions.get());
+        assertEquals(1, idempotencyCache.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
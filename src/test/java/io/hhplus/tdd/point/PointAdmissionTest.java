@@ -0,0 +1,129 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointAdmissionTest {
+
+    /**
+     * 락을 기다리는 요청이 제한을 넘으면 기다리지 않고 바로 거절되고, 다른 유저의 요청은 영향을 받지 않아야 합니다.
+     * 거절된 요청은 잔액에 반영되지 않아야 합니다.
+     */
+    @Test
+    void 대기_요청이_제한을_넘으면_바로_거절된다() throws Exception {
+        PointServiceFixture fixture = fixture(new PointProperties.Admission(2, Duration.ZERO), false);
+        PointService pointService = fixture.pointService;
+        long userId = 1L;
+
+        UserLockRegistry.UserLock userLock = fixture.userLockRegistry.acquire(userId);
+        userLock.lock();
+        CompletableFuture<UserPoint> first;
+        CompletableFuture<UserPoint> second;
+        try {
+            first = CompletableFuture.supplyAsync(() -> pointService.charge(userId, 100L));
+            second = CompletableFuture.supplyAsync(() -> pointService.charge(userId, 100L));
+            awaitWaiters(userLock, 2);
+
+            long start = System.nanoTime();
+            assertRejected(() -> pointService.charge(userId, 100L));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "거절은 기다리지 않아야 한다.");
+            assertEquals(50L, pointService.charge(2L, 50L).point());
+        } finally {
+            userLock.unlock();
+            fixture.userLockRegistry.release(userLock);
+        }
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(200L, pointService.getUserPoint(userId).point());
+        assertEquals(2, pointService.getUserPointHistories(userId).size());
+        assertEquals(1.0, fixture.meterRegistry.get("point.admission.rejected").tag("reason", "queue_full").counter().count(), 0.0);
+        assertEquals(0, fixture.userLockRegistry.size());
+    }
+
+    /**
+     * 정해진 시간 안에 락을 얻지 못한 요청은 거절되고, 잔액과 이력은 바뀌지 않아야 합니다.
+     */
+    @Test
+    void 락_대기_시간을_넘으면_거절된다() throws Exception {
+        PointServiceFixture fixture = fixture(new PointProperties.Admission(0, Duration.ofMillis(100)), false);
+        PointService pointService = fixture.pointService;
+        long userId = 1L;
+        pointService.charge(userId, 100L);
+
+        UserLockRegistry.UserLock userLock = fixture.userLockRegistry.acquire(userId);
+        userLock.lock();
+        try {
+            long start = System.nanoTime();
+            assertRejected(() -> pointService.use(userId, 10L));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        } finally {
+            userLock.unlock();
+            fixture.userLockRegistry.release(userLock);
+        }
+
+        assertEquals(100L, pointService.getUserPoint(userId).point());
+        assertEquals(1, pointService.getUserPointHistories(userId).size());
+        assertEquals(1.0, fixture.meterRegistry.get("point.admission.rejected").tag("reason", "timeout").counter().count(), 0.0);
+        assertEquals(0, fixture.userLockRegistry.size());
+    }
+
+    /**
+     * combining 모드에서 거절된 요청은 대기 큐에서도 빠져, 락을 잡은 스레드가 대신 처리하지 않아야 합니다.
+     */
+    @Test
+    void combining_모드에서_거절된_요청은_처리되지_않는다() throws Exception {
+        PointServiceFixture fixture = fixture(new PointProperties.Admission(1, Duration.ZERO), true);
+        PointService pointService = fixture.pointService;
+        long userId = 1L;
+
+        UserLockRegistry.UserLock userLock = fixture.userLockRegistry.acquire(userId);
+        userLock.lock();
+        CompletableFuture<UserPoint> waiting;
+        try {
+            waiting = CompletableFuture.supplyAsync(() -> pointService.charge(userId, 100L));
+            awaitWaiters(userLock, 1);
+
+            assertRejected(() -> pointService.charge(userId, 7L));
+        } finally {
+            userLock.unlock();
+            fixture.userLockRegistry.release(userLock);
+        }
+
+        assertEquals(100L, waiting.get(5, TimeUnit.SECONDS).point());
+        assertEquals(100L, pointService.getUserPoint(userId).point());
+        assertTrue(userLock.pendingCommands().isEmpty());
+    }
+
+    private static PointServiceFixture fixture(PointProperties.Admission admission, boolean combining) {
+        PointProperties properties = PointProperties.defaults()
+                .toBuilder().admission(admission)
+                .combining(new PointProperties.Combining(combining)).build();
+        return new PointServiceFixture(new UserPointTable(), new FakeTimeProvider(), properties);
+    }
+
+    /// 테스트 스레드는 유저 락을 잡고 있으므로(재진입 가능) 다른 스레드에서 요청해야 합니다.
+    private static void assertRejected(Supplier<UserPoint> request) {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> CompletableFuture.supplyAsync(request).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(PointOverloadedException.class, e.getCause());
+    }
+
+    private static void awaitWaiters(UserLockRegistry.UserLock userLock, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (userLock.waiters().get() < expected) {
+            if (System.nanoTime() > deadline)
+                fail("대기 요청이 " + expected + "건 쌓이지 않았습니다. 현재=" + userLock.waiters().get());
+            Thread.sleep(5);
+        }
+    }
+}
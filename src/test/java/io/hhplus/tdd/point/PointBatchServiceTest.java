@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointBatchServiceTest {
+
+    private PointCombiningTest.CountingUserPointTable userPointTable;
+    private PointService pointService;
+    private PointBatchService pointBatchService;
+
+    @BeforeEach
+    void setUp() {
+        this.userPointTable = new PointCombiningTest.CountingUserPointTable();
+        PointProperties properties = PointProperties.defaults();
+        this.pointService = new PointServiceFixture(this.userPointTable, new FakeTimeProvider(), properties).pointService;
+        this.pointBatchService = new PointBatchService(this.pointService, properties);
+    }
+
+    /**
+     * 유저별로 한 번씩만 저장하고, 결과는 요청 순서대로 건별로 돌려주어야 합니다.
+     */
+    @Test
+    void 유저별로_묶어_처리하고_건별_결과를_요청_순서대로_반환한다() {
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(2L, TransactionType.CHARGE, 50L),
+                new PointOperation(1L, TransactionType.USE, 30L),
+                new PointOperation(2L, TransactionType.USE, 80L),   // 잔고 부족
+                new PointOperation(1L, TransactionType.CHARGE, -1L) // 음수 충전
+        );
+
+        List<PointOperationResult> results = pointBatchService.execute(operations);
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).success());
+        assertEquals(100L, results.get(0).userPoint().point());
+        assertTrue(results.get(1).success());
+        assertTrue(results.get(2).success());
+        assertEquals(70L, results.get(2).userPoint().point());
+        assertFalse(results.get(3).success());
+        assertEquals("잔고 부족", results.get(3).error());
+        assertFalse(results.get(4).success());
+
+        assertEquals(70L, pointService.getUserPoint(1L).point());
+        assertEquals(50L, pointService.getUserPoint(2L).point());
+        assertEquals(2, userPointTable.updates.get(), "유저마다 한 번씩만 저장해야 한다.");
+        assertEquals(2, pointService.getUserPointHistories(1L).size());
+        assertEquals(1, pointService.getUserPointHistories(2L).size());
+    }
+
+    /**
+     * 최대 건수를 넘는 요청은 처리하지 않고 거절합니다.
+     */
+    @Test
+    void 최대_건수를_넘으면_거절한다() {
+        PointBatchService small = new PointBatchService(pointService,
+                PointProperties.defaults().toBuilder().batch(new PointProperties.Batch(1, 1)).build());
+
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 1L),
+                new PointOperation(2L, TransactionType.CHARGE, 1L));
+
+        assertThrows(RuntimeException.class, () -> small.execute(operations));
+        assertEquals(0, userPointTable.updates.get());
+    }
+}
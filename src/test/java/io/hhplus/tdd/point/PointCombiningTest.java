@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hhplus.tdd.point.PointTestSupport.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointCombiningTest {
+
+    private CountingUserPointTable userPointTable;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        this.userPointTable = new CountingUserPointTable();
+        PointProperties properties = PointProperties.defaults().toBuilder().combining(new PointProperties.Combining(true)).build();
+        this.pointService = new PointServiceFixture(this.userPointTable, new FakeTimeProvider(), properties).pointService;
+    }
+
+    /**
+     * 동시에 몰린 충전 요청은 합쳐서 처리되므로 요청 수보다 적게 저장하지만, 이력은 요청마다 남아야 합니다.
+     */
+    @Test
+    void 동시_충전은_합쳐서_저장되고_이력은_요청별로_남는다() throws Exception {
+        long userId = 1L;
+        int threads = 20;
+
+        runConcurrently(threads, () -> pointService.charge(userId, 1L));
+
+        assertEquals(threads, pointService.getUserPoint(userId).point());
+        assertEquals(threads, pointService.getUserPointHistories(userId).size());
+        assertTrue(userPointTable.updates.get() < threads,
+                "합쳐진 요청이 있다면 저장 횟수가 요청 수보다 적어야 한다. 저장 횟수=" + userPointTable.updates.get());
+    }
+
+    /**
+     * 잔고가 부족한 사용 요청은 함께 처리된 다른 요청에 영향을 주지 않고 자신만 거절되어야 합니다.
+     */
+    @Test
+    void 잔고_부족_요청만_거절되고_나머지는_반영된다() throws Exception {
+        long userId = 1L;
+        pointService.charge(userId, 10L);
+        AtomicInteger rejected = new AtomicInteger();
+
+        int threads = 10;
+        runConcurrently(threads, () -> {
+            try {
+                pointService.use(userId, 3L);
+            } catch (RuntimeException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // 10 포인트에서 3 포인트씩 3번만 사용 가능
+        assertEquals(threads - 3, rejected.get());
+        assertEquals(1L, pointService.getUserPoint(userId).point());
+        long useHistories = pointService.getUserPointHistories(userId).stream()
+                .filter(h -> h.type() == TransactionType.USE)
+                .count();
+        assertEquals(3L, useHistories);
+    }
+
+    /**
+     * 합쳐서 처리하던 중 저장이 실패하면, 함께 처리된 요청 모두 결과 없이 남지 않고 같은 예외로 실패해야 합니다.
+     */
+    @Test
+    void 합쳐서_처리하다_실패하면_모든_요청이_같은_예외를_받는다() throws Exception {
+        PointProperties properties = PointProperties.defaults().toBuilder().combining(new PointProperties.Combining(true)).build();
+        PointService failingService = new PointServiceFixture(new FailingUserPointTable(), new FakeTimeProvider(), properties).pointService;
+        long userId = 1L;
+        int threads = 10;
+        Queue<RuntimeException> errors = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(threads, () -> {
+            try {
+                failingService.charge(userId, 1L);
+            } catch (RuntimeException e) {
+                errors.add(e);
+            }
+        });
+
+        assertEquals(threads, errors.size());
+        for (RuntimeException error : errors)
+            assertEquals(FailingUserPointTable.MESSAGE, error.getMessage());
+    }
+
+    /// 저장할 때마다 잠시 멈췄다가 실패하는 테이블 (멈춘 동안 다른 요청이 큐에 쌓임)
+    static class FailingUserPointTable extends UserPointTable {
+        static final String MESSAGE = "저장 실패";
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return UserPoint.empty(id);
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException(MESSAGE);
+        }
+    }
+
+    /// insertOrUpdate 호출 횟수를 세는 테이블
+    static class CountingUserPointTable extends UserPointTable {
+        final AtomicInteger updates = new AtomicInteger();
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            updates.incrementAndGet();
+            return super.insertOrUpdate(id, amount);
+        }
+    }
+}
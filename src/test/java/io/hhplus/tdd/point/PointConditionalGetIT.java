@@ -0,0 +1,58 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PointConditionalGetIT {
+    @Autowired
+    MockMvc mvc;
+
+    /**
+     * 잔액/이력 조회는 ETag 를 내려주고, 바뀐 것이 없으면 If-None-Match 에 304 로 응답해야 합니다.
+     * 충전 후에는 ETag 가 바뀌어 다시 200 으로 최신 값을 내려줍니다.
+     */
+    @Test
+    void 바뀐_것이_없으면_304_로_응답한다() throws Exception {
+        long userId = 2401L;
+        mvc.perform(patch("/point/{id}/charge", userId).contentType(MediaType.APPLICATION_JSON).content("100"))
+                .andExpect(status().isOk());
+
+        String etag = mvc.perform(get("/point/{id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(100))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get("/point/{id}", userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        mvc.perform(get("/point/{id}/histories", userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mvc.perform(patch("/point/{id}/charge", userId).contentType(MediaType.APPLICATION_JSON).content("50"))
+                .andExpect(status().isOk());
+
+        String changed = mvc.perform(get("/point/{id}", userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(150))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+        mvc.perform(get("/point/{id}/histories", userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+}
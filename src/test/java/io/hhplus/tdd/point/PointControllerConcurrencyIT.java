@@ -1,17 +1,42 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue; // assertTrue 임포트
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -21,9 +46,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
 public class PointControllerConcurrencyIT {
+    private static final Logger log = LoggerFactory.getLogger(PointControllerConcurrencyIT.class);
+
     @Autowired
     MockMvc mvc;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @LocalServerPort
+    int port;
+
     @Test
     void API_동시_충전도_정확히_반영된다() throws Exception {
         long userId = 1L;
@@ -61,4 +94,182 @@ public class PointControllerConcurrencyIT {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.point").value(expected)); // JSON 검증
     }
+
+    /**
+     * 부하 테스트 하네스
+     * 설정한 시간 동안 여러 스레드가 충전/사용/조회를 섞어 실제 HTTP 로 보내고,
+     * 엔드포인트별 지연 시간(p50/p99/p999)과 초당 처리량을 JSON 보고서로 남긴 뒤 유저별 최종 잔액을 검증합니다.
+     * 설정은 시스템 프로퍼티로 바꿀 수 있습니다. (예: ./gradlew test --tests '*ConcurrencyIT*' -Pload.threads=32 -Pload.duration=60s)
+     * - load.threads : 요청 스레드 수 (기본 8)
+     * - load.users : 유저 수 (기본 10)
+     * - load.hot-ratio : 요청 중 1번 유저(hot user)에게 보내는 비율 (기본 0.5, 나머지는 전체 유저에 고르게)
+     * - load.mix : 충전:사용:조회 비율 (기본 60:20:20)
+     * - load.duration : 실행 시간 (기본 10s)
+     * - load.report : 보고서 경로 (기본 build/reports/load/point-load.json)
+     */
+    @Test
+    void 부하_테스트_지연_시간과_처리량을_기록하고_최종_잔액을_검증한다() throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Map<Endpoint, Timer> timers = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values())
+            timers.put(endpoint, Timer.builder("load.latency")
+                    .tag("endpoint", endpoint.name)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .register(registry));
+        Map<Endpoint, LongAdder> rejected = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values())
+            rejected.put(endpoint, new LongAdder());
+        // 이 테스트가 보낸 요청만으로 계산한 유저별 기대 잔액 (userId - 1 위치)
+        LongAdder[] expected = new LongAdder[config.users()];
+        for (int i = 0; i < expected.length; i++)
+            expected[i] = new LongAdder();
+        long[] initial = new long[config.users()];
+        HttpClient client = HttpClient.newHttpClient();
+        for (int i = 0; i < config.users(); i++)
+            initial[i] = readPoint(client, i + 1);
+
+        // 409(잔고 부족), 429(대기 제한 초과) 외의 실패 응답 수 (상태 코드별)
+        Map<Integer, LongAdder> unexpected = new ConcurrentSkipListMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(config.threads());
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + config.duration().toNanos();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < config.threads(); t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    long userId = random.nextDouble() < config.hotRatio() ? 1 : 1 + random.nextInt(config.users());
+                    Endpoint endpoint = config.pick(random.nextInt(config.totalWeight()));
+                    long amount = 1 + random.nextInt(100);
+                    long begin = System.nanoTime();
+                    HttpResponse<String> response = client.send(endpoint.request(port, userId, amount),
+                            HttpResponse.BodyHandlers.ofString());
+                    timers.get(endpoint).record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+                    if (response.statusCode() == 200) {
+                        if (endpoint == Endpoint.CHARGE)
+                            expected[(int) userId - 1].add(amount);
+                        else if (endpoint == Endpoint.USE)
+                            expected[(int) userId - 1].add(-amount);
+                    } else if (response.statusCode() == 409 || response.statusCode() == 429) {
+                        rejected.get(endpoint).increment(); // 잔고 부족 또는 유저 락 대기 제한 초과
+                    } else {
+                        unexpected.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                    }
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers)
+            worker.get();
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+        pool.shutdown();
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            HistogramSnapshot snapshot = timers.get(endpoint).takeSnapshot();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", snapshot.count());
+            stats.put("rejected", rejected.get(endpoint).sum());
+            stats.put("opsPerSecond", snapshot.count() / elapsedSeconds);
+            for (ValueAtPercentile percentile : snapshot.percentileValues())
+                stats.put("p" + percentileLabel(percentile.percentile()) + "Millis", percentile.value(TimeUnit.MILLISECONDS));
+            stats.put("maxMillis", snapshot.max(TimeUnit.MILLISECONDS));
+            endpoints.put(endpoint.name, stats);
+            total += snapshot.count();
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config.describe());
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("opsPerSecond", total / elapsedSeconds);
+        report.put("unexpectedErrors", unexpected);
+        report.put("endpoints", endpoints);
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(config.report().toFile(), report);
+        log.info("부하 테스트 보고서 ({}): {}", config.report(), objectMapper.writeValueAsString(report));
+
+        assertTrue(unexpected.isEmpty(), "409, 429 외의 실패 응답이 있으면 안 된다: " + unexpected);
+        for (int i = 0; i < config.users(); i++)
+            assertEquals(initial[i] + expected[i].sum(), readPoint(client, i + 1), "유저 " + (i + 1) + " 의 최종 잔액");
+    }
+
+    private long readPoint(HttpClient client, long userId) throws Exception {
+        HttpResponse<String> response = client.send(Endpoint.READ.request(port, userId, 0), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return objectMapper.readTree(response.body()).get("point").asLong();
+    }
+
+    /// 0.5 => 50, 0.99 => 99, 0.999 => 999
+    private static String percentileLabel(double percentile) {
+        String digits = String.valueOf(percentile).substring(2);
+        return digits.length() == 1 ? digits + "0" : digits;
+    }
+
+    enum Endpoint {
+        CHARGE("charge"), USE("use"), READ("read");
+
+        private final String name;
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+        HttpRequest request(int port, long userId, long amount) {
+            String base = "http://localhost:" + port + "/point/" + userId;
+            if (this == READ)
+                return HttpRequest.newBuilder(URI.create(base)).GET().build();
+            return HttpRequest.newBuilder(URI.create(base + "/" + name))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)))
+                    .build();
+        }
+    }
+
+    record LoadConfig(
+            int threads,
+            int users,
+            double hotRatio,
+            int chargeWeight,
+            int useWeight,
+            int readWeight,
+            Duration duration,
+            Path report
+    ) {
+        static LoadConfig fromSystemProperties() {
+            String[] mix = System.getProperty("load.mix", "60:20:20").split(":");
+            return new LoadConfig(
+                    Integer.getInteger("load.threads", 8),
+                    Integer.getInteger("load.users", 10),
+                    Double.parseDouble(System.getProperty("load.hot-ratio", "0.5")),
+                    Integer.parseInt(mix[0]),
+                    Integer.parseInt(mix[1]),
+                    Integer.parseInt(mix[2]),
+                    Duration.parse("PT" + System.getProperty("load.duration", "10s").toUpperCase()),
+                    Path.of(System.getProperty("load.report", "build/reports/load/point-load.json")));
+        }
+
+        int totalWeight() {
+            return chargeWeight + useWeight + readWeight;
+        }
+
+        Endpoint pick(int value) {
+            if (value < chargeWeight)
+                return Endpoint.CHARGE;
+            return value < chargeWeight + useWeight ? Endpoint.USE : Endpoint.READ;
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> describe = new LinkedHashMap<>();
+            describe.put("threads", threads);
+            describe.put("users", users);
+            describe.put("hotRatio", hotRatio);
+            describe.put("mix", chargeWeight + ":" + useWeight + ":" + readWeight);
+            describe.put("durationSeconds", duration.toMillis() / 1000.0);
+            return describe;
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PackedBalanceStore;
+import io.hhplus.tdd.database.PointStateRecovery;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointDurabilityTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * 서비스를 새로 띄워도(메모리 상태 초기화) 파일 저널로부터 잔액과 이력이 복구되고,
+     * 이후 이력 id 는 복구된 마지막 id 다음부터 이어집니다.
+     */
+    @Test
+    void 재시작해도_잔액과_이력이_유지된다() {
+        PointServiceFixture before = start();
+        before.pointService.charge(1L, 1_000L);
+        before.pointService.use(1L, 300L);
+        before.pointService.charge(2L, 50L);
+        stop(before);
+
+        PointServiceFixture after = start();
+
+        assertEquals(700L, after.pointService.getUserPoint(1L).point());
+        assertEquals(50L, after.pointService.getUserPoint(2L).point());
+        List<PointHistory> histories = after.pointService.getUserPointHistories(1L);
+        assertEquals(List.of(TransactionType.USE, TransactionType.CHARGE), histories.stream().map(PointHistory::type).toList());
+
+        after.pointService.charge(2L, 10L);
+        assertEquals(4L, after.pointService.getUserPointHistories(2L).get(0).id());
+        // 복구된 이력도 새 이력과 함께 id 순서대로 내보낼 수 있어야 합니다.
+        List<Long> exported = new ArrayList<>();
+        after.pointService.exportPointHistories(0, pointHistory -> exported.add(pointHistory.id()));
+        assertEquals(List.of(1L, 2L, 3L, 4L), exported);
+        stop(after);
+    }
+
+    /**
+     * 이력을 복구하지 않는 설정(restoreHistory=false)이어도 이력 id 는 이전 실행의 마지막 id 다음부터 이어져야 합니다.
+     */
+    @Test
+    void 이력을_복구하지_않아도_이력_id_는_이어서_발급된다() {
+        PointServiceFixture before = start(false);
+        before.pointService.charge(1L, 1_000L);
+        before.pointService.transfer(1L, 2L, 300L);
+        stop(before);
+
+        PointServiceFixture after = start(false);
+        after.pointService.charge(1L, 10L);
+
+        assertEquals(710L, after.pointService.getUserPoint(1L).point());
+        assertEquals(300L, after.pointService.getUserPoint(2L).point());
+        assertEquals(4L, after.pointService.getUserPointHistories(1L).get(0).id());
+        stop(after);
+    }
+
+    /**
+     * 저장마다 지연이 있는 UserPointTable 로는 잔액 복구가 유저 수만큼 느려지므로, 기동할 때 바로 실패해야 합니다.
+     */
+    @Test
+    void 테이블_저장소로는_복구하지_않고_바로_실패한다() {
+        PointProperties properties = PointProperties.defaults().toBuilder().durability(
+                new PointProperties.Durability(true, directory.toString(), 1 << 20, 1_000, true)).build();
+        PointServiceFixture fixture = new PointServiceFixture(new UserPointTable(), new FakeTimeProvider(), properties);
+
+        assertThrows(IllegalStateException.class, () -> new PointStateRecovery(fixture.pointEventLog, fixture.balanceStore,
+                fixture.pointHistoryRepository, fixture.pointHistoryJournal, properties).recover());
+        stop(fixture);
+    }
+
+    private PointServiceFixture start() {
+        return start(true);
+    }
+
+    private PointServiceFixture start(boolean restoreHistory) {
+        PointProperties properties = PointProperties.defaults().toBuilder().durability(
+                new PointProperties.Durability(true, directory.toString(), 1 << 20, 1_000, restoreHistory)).build();
+        PointServiceFixture fixture = new PointServiceFixture(new PackedBalanceStore(properties), new FakeTimeProvider(), properties);
+        new PointStateRecovery(fixture.pointEventLog, fixture.balanceStore, fixture.pointHistoryRepository,
+                fixture.pointHistoryJournal, properties).recover();
+        return fixture;
+    }
+
+    private void stop(PointServiceFixture fixture) {
+        fixture.pointHistoryJournal.close();
+        fixture.pointEventLog.close();
+    }
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PointExportIT {
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PointService pointService;
+
+    /**
+     * 내보내기는 NDJSON 으로 한 줄에 이력 하나씩 id 순서대로 내려주고, after 다음 이력부터 이어서 받을 수 있어야 합니다.
+     */
+    @Test
+    void 전체_이력을_NDJSON_으로_내보낸다() throws Exception {
+        long userId = 2501L;
+        for (long amount : new long[]{100L, 200L, 300L})
+            mvc.perform(patch("/point/{id}/charge", userId).contentType(MediaType.APPLICATION_JSON).content(Long.toString(amount)))
+                    .andExpect(status().isOk());
+        // 다른 테스트가 남긴 이력이 있을 수 있으므로, 이 유저의 첫 이력 id 부터 확인합니다.
+        long firstId = pointService.getUserPointHistories(userId).get(2).id();
+
+        String body = mvc.perform(get("/admin/point/histories/export").param("after", Long.toString(firstId - 1)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        List<PointHistory> exported = lines.stream().map(this::parse).filter(h -> h.userId() == userId).toList();
+        assertEquals(List.of(100L, 200L, 300L), exported.stream().map(PointHistory::amount).toList());
+        assertEquals(firstId, parse(lines.get(0)).id());
+        for (int i = 1; i < lines.size(); i++)
+            assertEquals(parse(lines.get(i - 1)).id() + 1, parse(lines.get(i)).id());
+
+        mvc.perform(get("/admin/point/histories/export").param("after", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private PointHistory parse(String line) {
+        try {
+            return objectMapper.readValue(line, PointHistory.class);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
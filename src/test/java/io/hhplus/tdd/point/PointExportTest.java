@@ -0,0 +1,52 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointExportTest {
+
+    /**
+     * 여러 유저의 충전/사용/이체 이력을 테이블 조회 없이 id 순서대로 한 번에 내보내야 합니다.
+     * after 를 넘기면 그 다음 이력부터 이어서 받을 수 있습니다.
+     */
+    @Test
+    void 전체_이력을_id_순서대로_이어서_내보낸다() {
+        PointRejectionTest.SelectCountingUserPointTable userPointTable = new PointRejectionTest.SelectCountingUserPointTable();
+        PointServiceFixture fixture = new PointServiceFixture(userPointTable, new FakeTimeProvider(), PointProperties.defaults());
+        PointService pointService = fixture.pointService;
+        pointService.charge(1L, 100L);
+        pointService.charge(2L, 50L);
+        pointService.use(1L, 30L);
+        pointService.transfer(2L, 1L, 20L);
+        int selects = userPointTable.selects.get();
+
+        List<PointHistory> exported = new ArrayList<>();
+        assertEquals(5, pointService.exportPointHistories(0, exported::add));
+        for (int i = 0; i < exported.size(); i++)
+            assertEquals(i + 1, exported.get(i).id());
+        assertEquals(List.of(1L, 2L, 1L, 2L, 1L), exported.stream().map(PointHistory::userId).toList());
+        assertEquals(TransactionType.USE, exported.get(3).type());
+
+        List<PointHistory> resumed = new ArrayList<>();
+        assertEquals(2, pointService.exportPointHistories(3, resumed::add));
+        assertEquals(exported.subList(3, 5), resumed);
+        assertEquals(selects, userPointTable.selects.get());
+    }
+
+    /**
+     * 한 줄에 이력 하나, API 응답과 같은 필드 이름의 JSON 으로 씁니다.
+     */
+    @Test
+    void 이력_한_건을_JSON_한_줄로_쓴다() {
+        PointHistory pointHistory = new PointHistory(7L, 3L, 500L, TransactionType.CHARGE, 1_700_000_000_000L);
+
+        String line = PointExportController.appendJson(new StringBuilder(), pointHistory).toString();
+
+        assertEquals("{\"id\":7,\"userId\":3,\"amount\":500,\"type\":\"CHARGE\",\"updateMillis\":1700000000000}", line);
+    }
+}
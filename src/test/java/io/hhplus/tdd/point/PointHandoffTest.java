@@ -0,0 +1,63 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointHandoffTest {
+
+    /**
+     * 넘겨준 인스턴스에는 유저의 잔액/이력이 남지 않고, 넘겨받은 인스턴스에서는 같은 잔액과 같은 순서의 이력이 조회되어야 합니다.
+     */
+    @Test
+    void 넘겨준_잔액과_이력을_넘겨받은_인스턴스에서_그대로_조회한다() {
+        PointService source = new PointServiceFixture(new FakeTimeProvider()).pointService;
+        PointService target = new PointServiceFixture(new FakeTimeProvider()).pointService;
+        source.charge(1L, 1_000L);
+        source.use(1L, 300L);
+        source.charge(2L, 50L);
+        target.charge(3L, 10L);
+        List<PointHistory> before = source.getUserPointHistories(1L);
+        long versionBefore = source.getUserVersion(1L);
+
+        PointHandoff handoff = source.handOff(1L);
+        target.receive(1L, handoff);
+
+        assertTrue(handoff.held());
+        assertEquals(700L, handoff.point());
+        assertEquals(0L, source.getUserPoint(1L).point());
+        assertEquals(List.of(), source.getUserPointHistories(1L));
+        assertTrue(source.getUserVersion(1L) > versionBefore);
+
+        assertEquals(700L, target.getUserPoint(1L).point());
+        List<PointHistory> after = target.getUserPointHistories(1L);
+        assertEquals(before.size(), after.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).amount(), after.get(i).amount());
+            assertEquals(before.get(i).type(), after.get(i).type());
+            assertEquals(before.get(i).updateMillis(), after.get(i).updateMillis());
+        }
+        assertEquals(200L, target.use(1L, 500L).point());
+    }
+
+    /**
+     * 넘겨준 유저의 이력은 내보내기에서 빠지고, 다른 유저의 이력은 그대로 내보내야 합니다.
+     */
+    @Test
+    void 넘겨준_유저의_이력은_내보내지_않는다() {
+        PointService source = new PointServiceFixture(new FakeTimeProvider()).pointService;
+        source.charge(1L, 100L);
+        source.charge(2L, 50L);
+        source.charge(1L, 10L);
+
+        source.handOff(1L);
+
+        List<PointHistory> exported = new ArrayList<>();
+        assertEquals(1, source.exportPointHistories(0, exported::add));
+        assertEquals(2L, exported.get(0).userId());
+    }
+}
@@ -0,0 +1,152 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.hhplus.tdd.point.PointTestSupport.runConcurrently;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointLockFreeChargeTest {
+
+    private PointCombiningTest.CountingUserPointTable userPointTable;
+    private PointServiceFixture fixture;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        this.userPointTable = new PointCombiningTest.CountingUserPointTable();
+        PointProperties properties = PointProperties.defaults().toBuilder().charge(new PointProperties.Charge(true)).build();
+        this.fixture = new PointServiceFixture(this.userPointTable, new FakeTimeProvider(), properties);
+        this.pointService = fixture.pointService;
+    }
+
+    /**
+     * 한 유저에게 몰린 충전은 모두 반영되고 이력도 요청마다 남지만, 테이블 저장은 합쳐져 요청 수보다 적어야 합니다.
+     * 요청이 모두 끝나면 테이블에도 최종 잔액이 저장되어 있어야 합니다.
+     */
+    @Test
+    void 동시_충전은_모두_반영되고_테이블_저장은_합쳐진다() throws Exception {
+        long userId = 1L;
+        int threads = 20;
+
+        runConcurrently(threads, () -> pointService.charge(userId, 1L));
+
+        assertEquals(threads, pointService.getUserPoint(userId).point());
+        assertEquals(threads, pointService.getUserPointHistories(userId).size());
+        assertEquals(threads, userPointTable.selectById(userId).point());
+        assertTrue(userPointTable.updates.get() < threads,
+                "저장이 합쳐졌다면 저장 횟수가 요청 수보다 적어야 한다. 저장 횟수=" + userPointTable.updates.get());
+        assertEquals(0, fixture.userLockRegistry.size());
+    }
+
+    /**
+     * 사용 요청이 유저 락을 잡고 있는 동안에도 충전은 락을 기다리지 않고 끝나야 합니다.
+     */
+    @Test
+    void 유저_락이_잡혀_있어도_충전은_기다리지_않는다() throws Exception {
+        long userId = 1L;
+        UserLockRegistry.UserLock userLock = fixture.userLockRegistry.acquire(userId);
+        pointService.charge(userId, 100L); // 잔액 셀 초기화 (락 수명 동안 한 번)
+        userLock.lock();
+        try {
+            UserPoint charged = CompletableFuture.supplyAsync(() -> pointService.charge(userId, 50L))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(150L, charged.point());
+        } finally {
+            userLock.unlock();
+            fixture.userLockRegistry.release(userLock);
+        }
+        assertEquals(150L, pointService.getUserPoint(userId).point());
+    }
+
+    /**
+     * 충전과 사용이 섞여 들어와도 잔액은 음수가 되지 않고, 최종 잔액은 충전 합계 - 성공한 사용 합계와 같아야 합니다.
+     */
+    @Test
+    void 충전과_사용이_섞여도_잔액이_일관적이다() throws Exception {
+        long userId = 1L;
+        AtomicInteger used = new AtomicInteger();
+        int threads = 40;
+
+        runConcurrently(threads, () -> {
+            for (int i = 0; i < 5; i++) {
+                pointService.charge(userId, 2L);
+                try {
+                    pointService.use(userId, 3L);
+                    used.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // 잔고 부족 => 사용 합계에서 제외
+                }
+            }
+        });
+
+        long expected = threads * 5 * 2L - used.get() * 3L;
+        assertEquals(expected, pointService.getUserPoint(userId).point());
+        assertEquals(expected, userPointTable.selectById(userId).point());
+        assertEquals(threads * 5 + used.get(), pointService.getUserPointHistories(userId).size());
+    }
+
+    /**
+     * 같은 시각에 동시에 들어온 충전은 유저 락 없이 인덱스에 들어가므로 id 발급 순서와 어긋나게 들어올 수 있습니다.
+     * 그래도 커서로 페이지를 넘기면 모든 이력을 빠짐없이, 겹치지 않게 (updateMillis, id) 최신순으로 받아야 합니다.
+     */
+    @Test
+    void 동시_충전_후에도_커서_페이지가_빠짐없이_이어진다() throws Exception {
+        PointProperties properties = PointProperties.defaults().toBuilder().charge(new PointProperties.Charge(true)).build();
+        PointService pointService = new PointServiceFixture(new PointMailboxServiceTest.InMemoryUserPointTable(0),
+                new FakeTimeProvider(), properties).pointService;
+        long userId = 1L;
+        int threads = 16;
+        int perThread = 300;
+
+        runConcurrently(threads, () -> {
+            for (int i = 0; i < perThread; i++)
+                pointService.charge(userId, 1L);
+        });
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PointHistoryPage page = pointService.getUserPointHistoryPage(userId, cursor, 7, null, null);
+            page.histories().forEach(pointHistory -> ids.add(pointHistory.id()));
+            cursor = page.nextCursor();
+            // 순서가 어긋나면 같은 이력이 반복되어 끝나지 않을 수 있습니다.
+        } while (cursor != null && ids.size() <= threads * perThread);
+
+        assertEquals(threads * perThread, ids.size());
+        for (int i = 1; i < ids.size(); i++)
+            assertTrue(ids.get(i - 1) > ids.get(i), "최신순(id 내림차순)이어야 한다: " + ids.get(i - 1) + ", " + ids.get(i));
+    }
+
+    /**
+     * 잔액 셀을 처음 채울 때 잠깐 유저 락을 기다리더라도, lock-free 충전은 락 대기 제한(429)으로 거절되지 않아야 합니다.
+     */
+    @Test
+    void 잔액_셀을_채울_때는_대기_제한으로_거절되지_않는다() throws Exception {
+        PointProperties properties = PointProperties.defaults()
+                .toBuilder().charge(new PointProperties.Charge(true))
+                .admission(new PointProperties.Admission(1, Duration.ofMillis(10))).build();
+        PointServiceFixture fixture = new PointServiceFixture(new PointMailboxServiceTest.InMemoryUserPointTable(0),
+                new FakeTimeProvider(), properties);
+        long userId = 1L;
+        UserLockRegistry.UserLock userLock = fixture.userLockRegistry.acquire(userId);
+        CompletableFuture<UserPoint> charged;
+        userLock.lock();
+        try {
+            charged = CompletableFuture.supplyAsync(() -> fixture.pointService.charge(userId, 50L));
+            Thread.sleep(100);
+        } finally {
+            userLock.unlock();
+            fixture.userLockRegistry.release(userLock);
+        }
+        assertEquals(50L, charged.get(5, TimeUnit.SECONDS).point());
+    }
+}
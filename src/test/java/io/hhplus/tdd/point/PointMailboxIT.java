@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "point.mailbox.enabled=true")
+@AutoConfigureMockMvc
+public class PointMailboxIT {
+    @Autowired
+    MockMvc mvc;
+
+    /**
+     * 메일박스 모드에서는 충전/사용 요청이 비동기로 시작되고, 처리가 끝난 뒤의 응답에 결과가 담겨야 합니다.
+     */
+    @Test
+    void 메일박스_모드에서는_충전과_사용을_비동기로_응답한다() throws Exception {
+        long userId = 2601L;
+        MvcResult charged = mvc.perform(patch("/point/{id}/charge", userId).contentType(MediaType.APPLICATION_JSON).content("100"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(charged))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(100));
+
+        MvcResult used = mvc.perform(patch("/point/{id}/use", userId).contentType(MediaType.APPLICATION_JSON).content("30"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(used))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(70));
+    }
+}
@@ -0,0 +1,170 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointMailboxServiceTest {
+
+    private PointMailboxService pointMailboxService;
+
+    @AfterEach
+    void tearDown() {
+        if (pointMailboxService != null)
+            pointMailboxService.close();
+    }
+
+    /**
+     * 같은 유저의 요청은 메일박스에 들어온 순서대로 처리되어야 합니다.
+     * 충전 직후 전액 사용을 기다리지 않고 이어 보내도, 순서가 바뀌지 않으므로 사용은 모두 성공합니다.
+     * 처리가 끝난 메일박스는 남지 않아야 합니다.
+     */
+    @Test
+    void 같은_유저의_요청은_들어온_순서대로_처리된다() throws Exception {
+        PointServiceFixture fixture = fixture(new InMemoryUserPointTable(0), 4);
+        int users = 20;
+        int rounds = 50;
+
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        for (int round = 0; round < rounds; round++) {
+            for (long userId = 1; userId <= users; userId++) {
+                futures.add(pointMailboxService.charge(userId, 100L));
+                futures.add(pointMailboxService.use(userId, 100L));
+            }
+        }
+        for (CompletableFuture<UserPoint> future : futures)
+            future.get(10, TimeUnit.SECONDS);
+
+        for (long userId = 1; userId <= users; userId++) {
+            assertEquals(0L, fixture.pointService.getUserPoint(userId).point());
+            assertEquals(rounds * 2, fixture.pointService.getUserPointHistories(userId).size());
+        }
+        awaitNoActiveMailboxes();
+        assertEquals(0, fixture.userLockRegistry.size());
+    }
+
+    /**
+     * 처리가 느린 유저에게 요청이 몰려도 호출한 스레드는 기다리지 않고, 그 유저는 워커를 하나만 사용하므로
+     * 다른 유저의 요청은 밀린 요청과 상관없이 바로 처리되어야 합니다.
+     */
+    @Test
+    void 바쁜_유저가_있어도_다른_유저는_기다리지_않는다() throws Exception {
+        long slowUser = 1L;
+        fixture(new InMemoryUserPointTable(slowUser), 2);
+        int requests = 40;
+
+        long start = System.nanoTime();
+        List<CompletableFuture<UserPoint>> slow = new ArrayList<>();
+        for (int i = 0; i < requests; i++)
+            slow.add(pointMailboxService.charge(slowUser, 1L));
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(200), "요청을 넣는 동안 기다리면 안 된다.");
+
+        assertEquals(5L, pointMailboxService.charge(2L, 5L).get(1, TimeUnit.SECONDS).point());
+        assertTrue(slow.stream().filter(CompletableFuture::isDone).count() < requests, "느린 유저의 요청은 아직 남아 있어야 한다.");
+
+        for (CompletableFuture<UserPoint> future : slow)
+            future.get(10, TimeUnit.SECONDS);
+        assertEquals(requests, slow.get(requests - 1).get().point());
+    }
+
+    /**
+     * 이체/일괄 처리처럼 메일박스 밖의 경로가 유저 락을 잡고 있어도, 워커는 락을 기다리지 않고 대기 제한으로 거절되지도 않아야 합니다.
+     * 워커가 하나뿐이어도 다른 유저의 요청은 바로 처리되고, 락이 풀리면 밀린 요청이 순서대로 처리됩니다.
+     */
+    @Test
+    void 다른_경로가_유저_락을_잡고_있어도_워커는_기다리지_않는다() throws Exception {
+        PointProperties properties = PointProperties.defaults()
+                .toBuilder().mailbox(new PointProperties.Mailbox(true, 1))
+                .admission(new PointProperties.Admission(0, Duration.ofMillis(10))).build();
+        PointServiceFixture fixture = new PointServiceFixture(new InMemoryUserPointTable(0), new FakeTimeProvider(), properties);
+        pointMailboxService = new PointMailboxService(fixture.pointService, properties);
+        long userId = 1L;
+        UserLockRegistry.UserLock held = fixture.userLockRegistry.acquire(userId);
+        held.lock();
+
+        List<CompletableFuture<UserPoint>> blocked = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++)
+                blocked.add(pointMailboxService.charge(userId, 1L));
+            assertEquals(5L, pointMailboxService.charge(2L, 5L).get(1, TimeUnit.SECONDS).point());
+            Thread.sleep(100);
+            assertTrue(blocked.stream().noneMatch(CompletableFuture::isDone), "락이 풀리기 전에는 처리되거나 거절되면 안 된다.");
+        } finally {
+            held.unlock();
+            fixture.userLockRegistry.release(held);
+        }
+
+        for (int i = 0; i < blocked.size(); i++)
+            assertEquals(i + 1, blocked.get(i).get(5, TimeUnit.SECONDS).point());
+        assertEquals(0.0, fixture.meterRegistry.get("point.admission.rejected").tag("reason", "timeout").counter().count(), 0.0);
+    }
+
+    /**
+     * 메일박스 모드가 꺼져 있으면 호출한 스레드에서 바로 처리하고 완료된 결과를 돌려줘야 합니다.
+     */
+    @Test
+    void 모드가_꺼져_있으면_바로_처리한다() {
+        PointServiceFixture fixture = new PointServiceFixture(new InMemoryUserPointTable(0), new FakeTimeProvider(), PointProperties.defaults());
+        pointMailboxService = new PointMailboxService(fixture.pointService, fixture.pointProperties);
+
+        CompletableFuture<UserPoint> charged = pointMailboxService.charge(1L, 100L);
+
+        assertTrue(charged.isDone());
+        assertEquals(100L, charged.join().point());
+        assertThrows(RuntimeException.class, () -> pointMailboxService.use(1L, 200L));
+    }
+
+    private PointServiceFixture fixture(UserPointTable userPointTable, int workers) {
+        PointProperties properties = PointProperties.defaults().toBuilder().mailbox(new PointProperties.Mailbox(true, workers)).build();
+        PointServiceFixture fixture = new PointServiceFixture(userPointTable, new FakeTimeProvider(), properties);
+        pointMailboxService = new PointMailboxService(fixture.pointService, properties);
+        return fixture;
+    }
+
+    private void awaitNoActiveMailboxes() throws InterruptedException {
+        // 결과를 알린 뒤에 메일박스를 정리하므로 잠시 기다립니다.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pointMailboxService.activeMailboxes() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        assertEquals(0, pointMailboxService.activeMailboxes());
+    }
+
+    /// sleep 없는 UserPointTable, slowUser 의 저장만 50ms 씩 걸립니다.
+    static final class InMemoryUserPointTable extends UserPointTable {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private final long slowUser;
+
+        InMemoryUserPointTable(long slowUser) {
+            this.slowUser = slowUser;
+        }
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            if (id == slowUser) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
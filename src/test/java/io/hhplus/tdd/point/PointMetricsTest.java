@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointMetricsTest {
+
+    /**
+     * 충전/사용 한 번마다 락 대기/점유 시간과 테이블 호출 시간이 기록되고, 잔고 부족은 따로 집계되어야 합니다.
+     */
+    @Test
+    void 처리_구간별_지표가_기록된다() {
+        PointServiceFixture fixture = new PointServiceFixture(new FakeTimeProvider());
+        long userId = 1L;
+
+        fixture.pointService.charge(userId, 100L);
+        // 잔액을 알고 있으므로 잔고 부족 요청은 유저 락을 잡지 않고 거절됩니다.
+        assertThrows(RuntimeException.class, () -> fixture.pointService.use(userId, 200L));
+        fixture.pointHistoryJournal.flush();
+
+        assertEquals(1L, fixture.meterRegistry.get("point.lock.wait").timer().count());
+        assertEquals(1L, fixture.meterRegistry.get("point.lock.held").timer().count());
+        assertEquals(1L, fixture.meterRegistry.get("point.table.latency")
+                .tag("table", "user_point").tag("operation", "select_by_id").timer().count());
+        assertEquals(1L, fixture.meterRegistry.get("point.table.latency")
+                .tag("table", "user_point").tag("operation", "insert_or_update").timer().count());
+        assertEquals(1L, fixture.meterRegistry.get("point.table.latency")
+                .tag("table", "point_history").tag("operation", "insert").timer().count());
+        assertEquals(1.0, fixture.meterRegistry.get("point.use.rejected").tag("reason", "insufficient_balance").counter().count(), 0.0);
+        assertTrue(fixture.meterRegistry.get("point.lock.held").timer().totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+}
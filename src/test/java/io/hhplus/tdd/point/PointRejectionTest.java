@@ -0,0 +1,149 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointRejectionTest {
+
+    /**
+     * 잘못된 금액은 InvalidPointRequestException(400), 잔고 부족은 InsufficientBalanceException(409) 으로 구분되어야 합니다.
+     * 기본 설정에서는 거절 예외에 stack trace 를 남기지 않습니다.
+     */
+    @Test
+    void 거절_사유별로_예외_타입이_구분되고_stack_trace_는_남기지_않는다() {
+        PointService pointService = new PointServiceFixture(new PointMailboxServiceTest.InMemoryUserPointTable(0),
+                new FakeTimeProvider(), PointProperties.defaults()).pointService;
+
+        assertThrows(InvalidPointRequestException.class, () -> pointService.charge(1L, -1L));
+        assertThrows(InvalidPointRequestException.class, () -> pointService.use(1L, -1L));
+        assertThrows(InvalidPointRequestException.class, () -> pointService.transfer(1L, 1L, 10L));
+        InsufficientBalanceException e = assertThrows(InsufficientBalanceException.class, () -> pointService.use(1L, 10L));
+
+        assertEquals("잔고 부족", e.getMessage());
+        assertEquals(0, e.getStackTrace().length);
+    }
+
+    /**
+     * 테이블에 기록되지 못한 이력이 한도(point.history.journal-capacity)에 닿아 있으면,
+     * 이력 큐에서 기다리지 않고 잔액을 바꾸기 전에 PointOverloadedException(429)으로 거절해야 합니다.
+     */
+    @Test
+    void 이력_기록이_밀려_있으면_잔액을_바꾸기_전에_거절한다() {
+        PointProperties properties = PointProperties.defaults().toBuilder()
+                .history(new PointProperties.History(0, Duration.ofSeconds(1))).build();
+        PointServiceFixture fixture = new PointServiceFixture(new PointMailboxServiceTest.InMemoryUserPointTable(0),
+                new FakeTimeProvider(), properties);
+        PointService pointService = fixture.pointService;
+
+        assertThrows(PointOverloadedException.class, () -> pointService.charge(1L, 100L));
+        assertThrows(PointOverloadedException.class, () -> pointService.transfer(1L, 2L, 0L));
+
+        assertEquals(0L, pointService.getUserPoint(1L).point());
+        assertTrue(pointService.getUserPointHistories(1L).isEmpty());
+        fixture.pointHistoryJournal.close();
+    }
+
+    /**
+     * point.errors.stack-trace 를 켜면 디버깅을 위해 stack trace 를 남깁니다.
+     */
+    @Test
+    void 설정을_켜면_stack_trace_를_남긴다() {
+        PointException.setStackTraceEnabled(true);
+        try {
+            assertTrue(new InsufficientBalanceException().getStackTrace().length > 0);
+        } finally {
+            PointException.setStackTraceEnabled(false);
+        }
+    }
+
+    /**
+     * 잔액을 알고 있는 유저의 잔고 부족 요청은 테이블을 조회하지 않고 거절해야 합니다.
+     * 처음 보는 유저는 한 번만 테이블을 조회하고, 이후의 잔고 부족 요청은 알게 된 잔액으로 거절합니다.
+     */
+    @Test
+    void 잔고_부족이_확실한_사용은_테이블_조회_없이_거절한다() {
+        SelectCountingUserPointTable userPointTable = new SelectCountingUserPointTable();
+        PointServiceFixture fixture = new PointServiceFixture(userPointTable, new FakeTimeProvider(), PointProperties.defaults());
+        PointService pointService = fixture.pointService;
+        pointService.charge(1L, 100L);
+        int selectsBefore = userPointTable.selects.get();
+
+        for (int i = 0; i < 100; i++)
+            assertThrows(InsufficientBalanceException.class, () -> pointService.use(1L, 1_000L));
+        assertThrows(InsufficientBalanceException.class, () -> pointService.transfer(1L, 2L, 1_000L));
+
+        assertEquals(selectsBefore, userPointTable.selects.get());
+        assertEquals(101.0, fixture.meterRegistry.get("point.use.rejected").tag("reason", "insufficient_balance").counter().count(), 0.0);
+        // 유저 락은 처음 충전할 때 한 번만 잡았습니다.
+        assertEquals(1L, fixture.meterRegistry.get("point.lock.wait").timer().count());
+
+        // 처음 보는 유저
+        assertThrows(InsufficientBalanceException.class, () -> pointService.use(2L, 10L));
+        assertThrows(InsufficientBalanceException.class, () -> pointService.use(2L, 10L));
+        assertEquals(selectsBefore + 1, userPointTable.selects.get());
+        assertEquals(100L, pointService.getUserPoint(1L).point());
+    }
+
+    /**
+     * 다른 요청이 유저 락을 오래 잡고 있어도, 잔고 부족이 확실한 요청은 락을 기다리지 않고 바로 거절되어야 합니다.
+     * (lock-free 충전 모드에서는 잔액 셀의 값으로 판단)
+     */
+    @Test
+    void 락이_잡혀_있어도_잔고_부족이_확실하면_기다리지_않고_거절한다() throws Exception {
+        for (boolean lockFreeCharge : new boolean[]{false, true}) {
+            PointProperties properties = PointProperties.defaults().toBuilder().charge(new PointProperties.Charge(lockFreeCharge)).build();
+            PointServiceFixture fixture = new PointServiceFixture(new PointMailboxServiceTest.InMemoryUserPointTable(0),
+                    new FakeTimeProvider(), properties);
+            PointService pointService = fixture.pointService;
+            pointService.charge(1L, 100L);
+
+            CountDownLatch locked = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            UserLockRegistry.UserLock userLock = fixture.userLockRegistry.acquire(1L);
+            pool.submit(() -> {
+                userLock.lock();
+                try {
+                    locked.countDown();
+                    finish.await();
+                } finally {
+                    userLock.unlock();
+                }
+                return null;
+            });
+            locked.await();
+
+            Future<UserPoint> rejected = pool.submit(() -> pointService.use(1L, 1_000L));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(InsufficientBalanceException.class, e.getCause());
+
+            finish.countDown();
+            fixture.userLockRegistry.release(userLock);
+            pool.shutdown();
+            assertEquals(100L, pointService.getUserPoint(1L).point());
+        }
+    }
+
+    /// selectById 호출 횟수를 세는 테이블
+    static class SelectCountingUserPointTable extends UserPointTable {
+        final AtomicInteger selects = new AtomicInteger();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            selects.incrementAndGet();
+            return super.selectById(id);
+        }
+    }
+}
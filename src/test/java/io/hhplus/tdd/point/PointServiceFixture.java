@@ -0,0 +1,58 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.BalanceStore;
+import io.hhplus.tdd.database.PointEventLog;
+import io.hhplus.tdd.database.PointHistoryJournal;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.UserPointTableStore;
+import io.hhplus.tdd.timeProvider.TimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/// 단위 테스트용 PointService 조립
+/// 스프링 없이 실제 in-memory 테이블과 서비스 구성요소를 연결합니다.
+public class PointServiceFixture {
+    /// UserPointTable 을 직접 넘기지 않은 경우(BalanceStore 사용) null
+    public final UserPointTable userPointTable;
+    public final BalanceStore balanceStore;
+    public final PointHistoryTable pointHistoryTable;
+    public final PointProperties pointProperties;
+    public final SimpleMeterRegistry meterRegistry;
+    public final PointMetrics pointMetrics;
+    public final PointHistoryJournal pointHistoryJournal;
+    public final PointHistoryRepository pointHistoryRepository;
+    public final UserPointCache userPointCache;
+    public final UserLockRegistry userLockRegistry;
+    public final PointEventLog pointEventLog;
+    public final PointService pointService;
+
+    public PointServiceFixture(TimeProvider timeProvider) {
+        this(new UserPointTable(), timeProvider, PointProperties.defaults());
+    }
+
+    public PointServiceFixture(UserPointTable userPointTable, TimeProvider timeProvider, PointProperties pointProperties) {
+        this(userPointTable, new UserPointTableStore(userPointTable), timeProvider, pointProperties);
+    }
+
+    public PointServiceFixture(BalanceStore balanceStore, TimeProvider timeProvider, PointProperties pointProperties) {
+        this(null, balanceStore, timeProvider, pointProperties);
+    }
+
+    private PointServiceFixture(UserPointTable userPointTable, BalanceStore balanceStore, TimeProvider timeProvider,
+                                PointProperties pointProperties) {
+        this.userPointTable = userPointTable;
+        this.balanceStore = balanceStore;
+        this.pointHistoryTable = new PointHistoryTable();
+        this.pointProperties = pointProperties;
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.pointMetrics = new PointMetrics(meterRegistry);
+        this.pointHistoryJournal = new PointHistoryJournal(pointHistoryTable, pointProperties, pointMetrics);
+        this.pointHistoryRepository = new PointHistoryRepository(pointHistoryJournal);
+        this.userPointCache = new UserPointCache(pointProperties);
+        this.userLockRegistry = new UserLockRegistry();
+        this.pointEventLog = new PointEventLog(pointProperties);
+        this.pointService = new PointService(balanceStore, pointHistoryRepository, timeProvider, pointProperties,
+                userPointCache, userLockRegistry, pointMetrics, pointEventLog);
+    }
+}
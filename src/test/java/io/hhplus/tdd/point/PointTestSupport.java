@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/// 여러 테스트가 같이 쓰는 동시 실행, 측정 도우미
+public final class PointTestSupport {
+    private PointTestSupport() {
+    }
+
+    /// GC 를 몇 차례 돌린 뒤의 힙 사용량 (바이트)
+    public static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /// threads 개의 스레드가 동시에 출발해 task 를 한 번씩 실행하고, 모두 끝날 때까지 기다립니다.
+    public static void runConcurrently(int threads, Runnable task) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    task.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await();
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,120 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointTransferTest {
+
+    /**
+     * 이체하면 두 유저의 잔액이 함께 바뀌고, 출금/입금 이력이 연속된 id 로 남아야 합니다.
+     * 잔액 저장은 유저마다 한 번씩, 두 번이면 충분합니다.
+     */
+    @Test
+    void 이체하면_두_유저의_잔액과_이어진_이력이_남는다() {
+        PointCombiningTest.CountingUserPointTable userPointTable = new PointCombiningTest.CountingUserPointTable();
+        PointServiceFixture fixture = new PointServiceFixture(userPointTable, new FakeTimeProvider(), PointProperties.defaults());
+        PointService pointService = fixture.pointService;
+        pointService.charge(1L, 1_000L);
+        int updatesBefore = userPointTable.updates.get();
+
+        PointTransfer transfer = pointService.transfer(1L, 2L, 300L);
+
+        assertEquals(700L, transfer.from().point());
+        assertEquals(300L, transfer.to().point());
+        assertEquals(2, userPointTable.updates.get() - updatesBefore);
+        assertEquals(700L, pointService.getUserPoint(1L).point());
+        assertEquals(300L, pointService.getUserPoint(2L).point());
+
+        assertEquals(transfer.withdrawal().id() + 1, transfer.deposit().id());
+        assertEquals(TransactionType.USE, transfer.withdrawal().type());
+        assertEquals(TransactionType.CHARGE, transfer.deposit().type());
+        assertEquals(transfer.withdrawal(), pointService.getUserPointHistories(1L).get(0));
+        assertEquals(List.of(transfer.deposit()), pointService.getUserPointHistories(2L));
+        assertEquals(0, fixture.userLockRegistry.size());
+    }
+
+    /**
+     * 보내는 유저의 잔고가 부족하면 두 유저 모두 아무것도 바뀌지 않아야 합니다.
+     */
+    @Test
+    void 잔고가_부족하면_아무것도_바뀌지_않는다() {
+        PointServiceFixture fixture = new PointServiceFixture(new PointMailboxServiceTest.InMemoryUserPointTable(0),
+                new FakeTimeProvider(), PointProperties.defaults());
+        PointService pointService = fixture.pointService;
+        pointService.charge(1L, 100L);
+
+        assertThrows(RuntimeException.class, () -> pointService.transfer(1L, 2L, 101L));
+        assertThrows(RuntimeException.class, () -> pointService.transfer(1L, 1L, 10L));
+        assertThrows(RuntimeException.class, () -> pointService.transfer(1L, 2L, -10L));
+
+        assertEquals(100L, pointService.getUserPoint(1L).point());
+        assertEquals(0L, pointService.getUserPoint(2L).point());
+        assertEquals(1, pointService.getUserPointHistories(1L).size());
+        assertTrue(pointService.getUserPointHistories(2L).isEmpty());
+        assertEquals(0, fixture.userLockRegistry.size());
+    }
+
+    /**
+     * 여러 유저 사이에 무작위 방향으로 이체를 동시에 보내도 교착 상태 없이 끝나야 하고,
+     * 전체 포인트 합계는 그대로이며 음수 잔액은 없어야 합니다. (lock-free 충전 모드 포함)
+     */
+    @Test
+    void 무작위_교차_이체에도_교착_없이_합계가_유지된다() throws Exception {
+        for (boolean lockFreeCharge : new boolean[]{false, true}) {
+            PointProperties properties = PointProperties.defaults().toBuilder().charge(new PointProperties.Charge(lockFreeCharge)).build();
+            PointServiceFixture fixture = new PointServiceFixture(new PointMailboxServiceTest.InMemoryUserPointTable(0),
+                    new FakeTimeProvider(), properties);
+            PointService pointService = fixture.pointService;
+            int users = 20;
+            long initial = 1_000L;
+            for (long userId = 1; userId <= users; userId++)
+                pointService.charge(userId, initial);
+
+            int threads = 16;
+            // 이력 저널 용량(10,000) 안에서 끝나도록 이체 수를 제한합니다. (테이블 기록은 느리게 따라옵니다.)
+            int perThread = 200;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < perThread; i++) {
+                        long from = 1 + random.nextInt(users);
+                        long to = 1 + random.nextInt(users - 1);
+                        if (to >= from)
+                            to++;
+                        try {
+                            pointService.transfer(from, to, 1 + random.nextInt(100));
+                        } catch (RuntimeException e) {
+                            assertEquals("잔고 부족", e.getMessage());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            // 교착 상태라면 제한 시간 안에 끝나지 않습니다.
+            for (Future<?> future : futures)
+                future.get(30, TimeUnit.SECONDS);
+            pool.shutdown();
+
+            long total = 0;
+            for (long userId = 1; userId <= users; userId++) {
+                long point = pointService.getUserPoint(userId).point();
+                assertTrue(point >= 0, "음수 잔액: 유저 " + userId);
+                total += point;
+            }
+            assertEquals(users * initial, total, "lockFreeCharge=" + lockFreeCharge);
+            assertEquals(0, fixture.userLockRegistry.size());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointVersionTest {
+
+    /**
+     * 충전/사용/이체로 잔액이 바뀔 때마다 버전이 증가하고, 거절된 요청은 버전을 바꾸지 않아야 합니다.
+     */
+    @Test
+    void 잔액이_바뀔_때만_버전이_증가한다() {
+        PointService pointService = new PointServiceFixture(new PointMailboxServiceTest.InMemoryUserPointTable(0),
+                new FakeTimeProvider(), PointProperties.defaults()).pointService;
+        assertEquals(0L, pointService.getUserVersion(1L));
+
+        pointService.charge(1L, 100L);
+        assertEquals(1L, pointService.getUserVersion(1L));
+        pointService.use(1L, 30L);
+        assertEquals(2L, pointService.getUserVersion(1L));
+
+        assertThrows(InsufficientBalanceException.class, () -> pointService.use(1L, 1_000L));
+        assertThrows(InvalidPointRequestException.class, () -> pointService.charge(1L, -1L));
+        assertEquals(2L, pointService.getUserVersion(1L));
+
+        pointService.transfer(1L, 2L, 10L);
+        assertEquals(3L, pointService.getUserVersion(1L));
+        assertEquals(1L, pointService.getUserVersion(2L));
+    }
+
+    /**
+     * 바뀐 것이 없는 유저를 계속 조회(polling)해도 버전 확인만으로 끝나므로 테이블을 호출하지 않아야 합니다.
+     * (If-None-Match 가 현재 ETag 와 같으면 컨트롤러는 버전만 확인하고 304 로 응답합니다.)
+     */
+    @Test
+    void 바뀐_것이_없으면_버전_확인은_테이블을_호출하지_않는다() {
+        PointRejectionTest.SelectCountingUserPointTable userPointTable = new PointRejectionTest.SelectCountingUserPointTable();
+        PointServiceFixture fixture = new PointServiceFixture(userPointTable, new FakeTimeProvider(), PointProperties.defaults());
+        PointService pointService = fixture.pointService;
+        pointService.charge(1L, 100L);
+        fixture.pointHistoryJournal.flush();
+        long version = pointService.getUserVersion(1L);
+        int selects = userPointTable.selects.get();
+
+        for (int i = 0; i < 1_000; i++)
+            assertEquals(version, pointService.getUserVersion(1L));
+        // 처음 보는 유저도 테이블을 조회하지 않고 버전 0 으로 확인합니다.
+        assertEquals(0L, pointService.getUserVersion(2L));
+
+        assertEquals(selects, userPointTable.selects.get());
+        assertEquals(0, fixture.pointHistoryJournal.pending());
+        assertEquals(1L, fixture.meterRegistry.get("point.table.latency")
+                .tag("table", "point_history").tag("operation", "insert").timer().count());
+    }
+}
@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 가상 스레드 모드 유무에 따라 동시에 처리 중인 요청 수를 비교합니다.
+ * 두 모드를 같은 조건(Tomcat 스레드 4개)으로 각각 띄워 같은 부하를 보냅니다.
+ */
+public class PointVirtualThreadIT {
+
+    private static final int TOMCAT_THREADS = 4;
+    private static final int REQUESTS = 40;
+
+    @Test
+    void 가상_스레드_모드는_톰캣_스레드_수보다_많은_요청을_동시에_처리한다() throws Exception {
+        int platformInFlight = measureMaxInFlight(false);
+        int virtualInFlight = measureMaxInFlight(true);
+
+        assertTrue(platformInFlight <= TOMCAT_THREADS,
+                "플랫폼 스레드 모드는 톰캣 스레드 수를 넘을 수 없다. 동시 처리=" + platformInFlight);
+        assertTrue(virtualInFlight > TOMCAT_THREADS,
+                "가상 스레드 모드는 톰캣 스레드 수보다 많이 처리해야 한다. 동시 처리=" + virtualInFlight);
+    }
+
+    private int measureMaxInFlight(boolean virtualThreads) throws Exception {
+        InFlightCounter counter = new InFlightCounter();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "server.tomcat.threads.min-spare=" + TOMCAT_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("inFlightCounter", counter))
+                .run();
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            // 서로 다른 유저에게 충전 => 유저 락 대기 없이 테이블 throttle 만큼 요청이 머무릅니다.
+            for (int userId = 1; userId <= REQUESTS; userId++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + userId + "/charge"))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("1"))
+                        .build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses)
+                assertEquals(200, response.join().statusCode());
+            return counter.max.get();
+        } finally {
+            context.close();
+        }
+    }
+
+    /// 동시에 처리 중인 요청 수의 최댓값을 기록하는 필터
+    static class InFlightCounter implements Filter {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            max.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.hhplus.tdd.point.PointTestSupport.usedHeap;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserLockRegistryTest {
+
+    private final UserLockRegistry userLockRegistry = new UserLockRegistry();
+
+    /**
+     * 같은 유저에 대해서는 여전히 한 번에 한 스레드만 임계 구역에 들어가야 합니다.
+     */
+    @Test
+    void 같은_유저는_상호_배제된다() throws Exception {
+        long userId = 1L;
+        int threads = 8;
+        int perThreadCalls = 10_000;
+        long[] counter = new long[1];
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThreadCalls; i++) {
+                        UserLockRegistry.UserLock userLock = userLockRegistry.acquire(userId);
+                        userLock.lock();
+                        try {
+                            counter[0]++; // 락이 없으면 유실되는 비원자적 증가
+                        } finally {
+                            userLock.unlock();
+                            userLockRegistry.release(userLock);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await();
+        pool.shutdown();
+
+        assertEquals((long) threads * perThreadCalls, counter[0]);
+        assertEquals(0, userLockRegistry.size());
+    }
+
+    /**
+     * 수많은 서로 다른 유저가 한 번씩 다녀가도 락이 쌓이지 않아 힙 사용량이 일정해야 합니다.
+     */
+    @Test
+    void 서로_다른_유저가_많아도_힙_사용량이_일정하다() {
+        int users = 2_000_000;
+        touch(0, 10_000); // 워밍업
+        long before = usedHeap();
+
+        touch(0, users);
+        long after = usedHeap();
+
+        assertEquals(0, userLockRegistry.size(), "반납된 락은 모두 제거되어야 한다.");
+        // 락이 남는다면 유저당 100바이트 이상, 200만 유저면 200MB 이상 늘어납니다.
+        long grown = after - before;
+        assertTrue(grown < 20L * 1024 * 1024, "힙 증가량이 너무 크다: " + grown + " bytes");
+    }
+
+    private void touch(long fromUserId, int users) {
+        for (long userId = fromUserId; userId < fromUserId + users; userId++) {
+            UserLockRegistry.UserLock userLock = userLockRegistry.acquire(userId);
+            userLock.lock();
+            userLock.unlock();
+            userLockRegistry.release(userLock);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.timeProvider.FakeTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserPointCacheTest {
+
+    /**
+     * 최대 크기를 넘으면 가장 오래 사용되지 않은 유저부터 방출되어야 합니다.
+     */
+    @Test
+    void 최대_크기를_넘으면_오래된_유저부터_방출된다() {
+        PointProperties properties = PointProperties.defaults().toBuilder().cache(new PointProperties.Cache(1)).build();
+        UserPointCache cache = new UserPointCache(properties);
+
+        cache.put(new UserPoint(1L, 100L, 0L));
+        cache.put(new UserPoint(2L, 200L, 0L));
+
+        assertNull(cache.get(1L));
+        assertEquals(200L, cache.get(2L).point());
+        UserPointCache.CacheStats stats = cache.stats();
+        assertEquals(1L, stats.hits());
+        assertEquals(1L, stats.misses());
+        assertEquals(1L, stats.evictions());
+        assertEquals(1, stats.size());
+    }
+
+    /**
+     * 한 번 조회한 잔액은 다시 조회할 때 테이블을 거치지 않고, 충전/사용 결과와 항상 일치해야 합니다.
+     */
+    @Test
+    void 반복_조회는_테이블을_거치지_않고_쓰기와_일치한다() {
+        CountingUserPointTable userPointTable = new CountingUserPointTable();
+        PointServiceFixture fixture = new PointServiceFixture(userPointTable, new FakeTimeProvider(), PointProperties.defaults());
+        PointService pointService = fixture.pointService;
+        UserPointCache cache = fixture.userPointCache;
+        long userId = 1L;
+
+        pointService.getUserPoint(userId);
+        pointService.charge(userId, 100L);
+        pointService.use(userId, 30L);
+        UserPoint userPoint = pointService.getUserPoint(userId);
+
+        assertEquals(70L, userPoint.point());
+        assertEquals(1, userPointTable.selects.get(), "최초 1회만 테이블을 조회해야 한다.");
+        assertEquals(3L, cache.stats().hits());
+    }
+
+    /// selectById 호출 횟수를 세는 테이블
+    static class CountingUserPointTable extends UserPointTable {
+        final AtomicInteger selects = new AtomicInteger();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            selects.incrementAndGet();
+            return super.selectById(id);
+        }
+    }
+}
@@ -1,9 +1,7 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.timeProvider.FakeTimeProvider;
-import io.hhplus.tdd.timeProvider.TimeProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -17,16 +15,14 @@ import static org.junit.jupiter.api.Assertions.*;
 public class UserPointTableTest {
 
     private UserPointTable userPointTable;
-    private PointHistoryTable pointHistoryTable;
     private PointService pointService;
     private FakeTimeProvider fakeTimeProvider;
 
     @BeforeEach
     void setUp() {
         this.userPointTable = new UserPointTable();
-        this.pointHistoryTable = new PointHistoryTable();
         this.fakeTimeProvider = new FakeTimeProvider();
-        this.pointService = new PointService(this.userPointTable, this.pointHistoryTable, this.fakeTimeProvider);
+        this.pointService = new PointServiceFixture(this.userPointTable, this.fakeTimeProvider, PointProperties.defaults()).pointService;
     }
 
     /**
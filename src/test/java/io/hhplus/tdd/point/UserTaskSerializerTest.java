@@ -0,0 +1,131 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserTaskSerializerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 같은 유저의 작업은 여러 스레드에서 실행되더라도 넣은 순서대로, 한 번에 하나씩만 실행되어야 합니다.
+     */
+    @Test
+    void 같은_유저의_작업은_순서대로_하나씩_실행된다() throws Exception {
+        UserTaskSerializer serializer = new UserTaskSerializer(executor, 0);
+        int users = 4;
+        int tasks = 500;
+        List<List<Integer>> executed = new ArrayList<>();
+        List<AtomicInteger> running = new ArrayList<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            executed.add(new ArrayList<>());
+            running.add(new AtomicInteger());
+        }
+
+        for (int i = 0; i < tasks; i++) {
+            for (int u = 0; u < users; u++) {
+                int userIndex = u;
+                int sequence = i;
+                futures.add(serializer.submit(u, () -> {
+                    if (running.get(userIndex).incrementAndGet() != 1)
+                        throw new IllegalStateException("같은 유저의 작업이 동시에 실행되었습니다.");
+                    executed.get(userIndex).add(sequence);
+                    running.get(userIndex).decrementAndGet();
+                    return sequence;
+                }));
+            }
+        }
+        for (CompletableFuture<Integer> future : futures)
+            future.get(10, TimeUnit.SECONDS);
+
+        for (List<Integer> sequences : executed) {
+            assertEquals(tasks, sequences.size());
+            for (int i = 0; i < tasks; i++)
+                assertEquals(i, sequences.get(i).intValue());
+        }
+        assertEquals(0, serializer.size());
+    }
+
+    /**
+     * 앞 작업이 오래 걸리는 유저의 나머지 작업은 스레드를 점유하지 않고 줄에서 기다리므로, 다른 유저의 작업은 바로 실행되어야 합니다.
+     */
+    @Test
+    void 밀린_유저의_작업은_스레드를_점유하지_않는다() throws Exception {
+        ExecutorService twoThreads = Executors.newFixedThreadPool(2);
+        try {
+            UserTaskSerializer serializer = new UserTaskSerializer(twoThreads, 0);
+            CountDownLatch release = new CountDownLatch(1);
+            List<CompletableFuture<Boolean>> blocked = new ArrayList<>();
+            for (int i = 0; i < 100; i++)
+                blocked.add(serializer.submit(1L, () -> release.await(10, TimeUnit.SECONDS)));
+
+            assertEquals(7L, serializer.submit(2L, () -> 7L).get(5, TimeUnit.SECONDS).longValue());
+
+            release.countDown();
+            for (CompletableFuture<Boolean> future : blocked)
+                assertTrue(future.get(10, TimeUnit.SECONDS));
+        } finally {
+            twoThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * 유저 한 명의 줄이 가득 차면 새 작업은 실행하지 않고 바로 PointOverloadedException 으로 끝나야 합니다.
+     */
+    @Test
+    void 유저별_대기_수를_넘으면_거절된다() throws Exception {
+        UserTaskSerializer serializer = new UserTaskSerializer(executor, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        CompletableFuture<Integer> first = serializer.submit(1L, () -> {
+            release.await(10, TimeUnit.SECONDS);
+            return executed.incrementAndGet();
+        });
+        CompletableFuture<Integer> second = serializer.submit(1L, executed::incrementAndGet);
+        CompletableFuture<Integer> third = serializer.submit(1L, executed::incrementAndGet);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> third.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(PointOverloadedException.class, e.getCause());
+
+        release.countDown();
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).longValue());
+        assertEquals(2, second.get(5, TimeUnit.SECONDS).longValue());
+        assertEquals(2, executed.get());
+        assertEquals(0, serializer.size());
+    }
+
+    /**
+     * executor 가 작업을 받지 않으면 그 작업은 거절되고, 줄은 남지 않아야 합니다.
+     */
+    @Test
+    void executor_가_거절하면_작업도_거절된다() {
+        UserTaskSerializer serializer = new UserTaskSerializer(runnable -> {
+            throw new RejectedExecutionException("full");
+        }, 0);
+
+        CompletableFuture<Long> future = serializer.submit(1L, () -> 1L);
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(PointOverloadedException.class, e.getCause());
+        assertEquals(0, serializer.size());
+    }
+}